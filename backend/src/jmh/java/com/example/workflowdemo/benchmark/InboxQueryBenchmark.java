@@ -0,0 +1,47 @@
+package com.example.workflowdemo.benchmark;
+
+import com.example.workflowdemo.dto.TaskPage;
+import com.example.workflowdemo.service.TaskApplicationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class InboxQueryBenchmark extends WorkflowEngineState {
+
+    private static final String APPROVER = "inbox-approver";
+
+    @Param({"10", "1000", "10000"})
+    public int openTasks;
+
+    private TaskApplicationService taskApplicationService;
+    private String secondPageCursor;
+
+    @Override
+    protected void prepare() {
+        startMany(openTasks, APPROVER, "inbox-executor");
+        taskApplicationService = bean(TaskApplicationService.class);
+        secondPageCursor = taskApplicationService.findTasks("approver", APPROVER, null, null).nextCursor();
+    }
+
+    @Benchmark
+    public TaskPage firstPage() {
+        return taskApplicationService.findTasks("approver", APPROVER, null, null);
+    }
+
+    @Benchmark
+    public TaskPage nextPage() {
+        return taskApplicationService.findTasks("approver", APPROVER, secondPageCursor, null);
+    }
+}
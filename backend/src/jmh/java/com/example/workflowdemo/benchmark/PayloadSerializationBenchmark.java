@@ -0,0 +1,131 @@
+package com.example.workflowdemo.benchmark;
+
+import com.example.workflowdemo.payload.PayloadCodec;
+import com.example.workflowdemo.payload.WorkflowPayload;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the legacy Java-serialized {@code HashMap} payload with the compact JSON
+ * {@link WorkflowPayload} format. The {@code bytes} counter reports the stored size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayloadSerializationBenchmark {
+
+    @Param({"typical", "large"})
+    public String shape;
+
+    private HashMap<String, Object> legacy;
+    private WorkflowPayload compact;
+    private byte[] legacyBytes;
+    private byte[] compactBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        legacy = new HashMap<>("large".equals(shape) ? largePayload() : typicalPayload());
+        compact = WorkflowPayload.of(legacy);
+        legacyBytes = javaSerialize(legacy);
+        compactBytes = PayloadCodec.encode(compact);
+    }
+
+    @Benchmark
+    public byte[] writeJavaSerialized(Size size) throws IOException {
+        byte[] bytes = javaSerialize(legacy);
+        size.bytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public byte[] writeCompact(Size size) throws IOException {
+        byte[] bytes = PayloadCodec.encode(compact);
+        size.bytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Object readJavaSerialized() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(legacyBytes))) {
+            return in.readObject();
+        }
+    }
+
+    @Benchmark
+    public WorkflowPayload readCompact() throws IOException {
+        return PayloadCodec.decode(compactBytes);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Size {
+
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    private static byte[] javaSerialize(Object value) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(buffer)) {
+            out.writeObject(value);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static Map<String, Object> typicalPayload() {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("amount", 1250.5);
+        payload.put("currency", "EUR");
+        payload.put("department", "finance");
+        payload.put("priority", 2);
+        payload.put("requester", "initiator-1");
+        payload.put("costCenter", "CC-4711");
+        payload.put("urgent", false);
+        payload.put("description", "Replacement laptops for the onboarding batch");
+        return payload;
+    }
+
+    private static Map<String, Object> largePayload() {
+        Map<String, Object> payload = typicalPayload();
+        List<Map<String, Object>> lines = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Map<String, Object> line = new HashMap<>();
+            line.put("sku", "SKU-" + i);
+            line.put("quantity", i % 7 + 1);
+            line.put("unitPrice", 19.99 + i);
+            line.put("note", "line item " + i);
+            lines.add(line);
+        }
+        payload.put("lines", lines);
+        return payload;
+    }
+}
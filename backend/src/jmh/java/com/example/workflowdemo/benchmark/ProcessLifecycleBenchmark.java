@@ -0,0 +1,45 @@
+package com.example.workflowdemo.benchmark;
+
+import com.example.workflowdemo.dto.StartProcessResponse;
+import com.example.workflowdemo.dto.TaskActionRequest;
+import com.example.workflowdemo.dto.TaskDecisionRequest;
+import com.example.workflowdemo.dto.TaskOperationResponse;
+import com.example.workflowdemo.service.TaskApplicationService;
+import org.camunda.bpm.engine.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ProcessLifecycleBenchmark extends WorkflowEngineState {
+
+    @Benchmark
+    public StartProcessResponse start() {
+        return start("bench-approver", "bench-executor");
+    }
+
+    @Benchmark
+    public TaskOperationResponse approveToComplete() {
+        TaskApplicationService tasks = bean(TaskApplicationService.class);
+        StartProcessResponse started = start("lifecycle-approver", "lifecycle-executor");
+
+        tasks.approveTask(started.currentTask().taskId(),
+                new TaskDecisionRequest("lifecycle-approver", "Approved in benchmark", null));
+
+        String manualTaskId = bean(TaskService.class).createTaskQuery()
+                .processInstanceId(started.processInstanceId())
+                .singleResult()
+                .getId();
+        return tasks.completeTask(manualTaskId, new TaskActionRequest("lifecycle-executor", "Done"));
+    }
+}
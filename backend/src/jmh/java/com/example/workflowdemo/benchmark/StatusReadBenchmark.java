@@ -0,0 +1,56 @@
+package com.example.workflowdemo.benchmark;
+
+import com.example.workflowdemo.dto.ProcessStatusResponse;
+import com.example.workflowdemo.service.ProcessStatusService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Status reads for an instance whose history has been stretched by re-entering the
+ * approval task {@code reentries} times through process instance modification.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class StatusReadBenchmark extends WorkflowEngineState {
+
+    @Param({"0", "100", "1000"})
+    public int reentries;
+
+    private ProcessStatusService statusService;
+    private String processInstanceId;
+
+    @Override
+    protected void prepare() {
+        processInstanceId = start("status-approver", "status-executor").processInstanceId();
+        RuntimeService runtimeService = bean(RuntimeService.class);
+        for (int i = 0; i < reentries; i++) {
+            runtimeService.createProcessInstanceModification(processInstanceId)
+                    .cancelAllForActivity("approvalTask")
+                    .startBeforeActivity("approvalTask")
+                    .execute();
+        }
+        statusService = bean(ProcessStatusService.class);
+    }
+
+    @Benchmark
+    public ProcessStatusResponse getStatus() {
+        return statusService.getStatus(processInstanceId);
+    }
+
+    @Benchmark
+    public ProcessStatusResponse getStateAndCurrentTask() {
+        return statusService.getStatus(processInstanceId, "state,currentTask", null, null);
+    }
+}
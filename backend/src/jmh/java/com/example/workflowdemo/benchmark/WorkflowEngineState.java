@@ -0,0 +1,77 @@
+package com.example.workflowdemo.benchmark;
+
+import com.example.workflowdemo.WorkflowDemoApplication;
+import com.example.workflowdemo.dto.StartProcessRequest;
+import com.example.workflowdemo.dto.StartProcessResponse;
+import com.example.workflowdemo.service.ProcessService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Boots the application without the web tier against a private in-memory H2 database,
+ * once per benchmark fork. Read caches are off so reads measure the query path.
+ */
+@State(Scope.Benchmark)
+public class WorkflowEngineState {
+
+    private static final int START_BATCH = 500;
+
+    protected ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void bootEngine() {
+        context = new SpringApplicationBuilder(WorkflowDemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "--logging.file.name=target/benchmark.log",
+                        "--logging.level.root=WARN",
+                        "--workflow.cache.enabled=false",
+                        "--camunda.bpm.job-execution.enabled=false",
+                        "--spring.autoconfigure.exclude="
+                                + "org.camunda.bpm.spring.boot.starter.rest.CamundaBpmRestJerseyAutoConfiguration");
+        prepare();
+    }
+
+    protected void prepare() {
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdownEngine() {
+        context.close();
+    }
+
+    protected <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    protected StartProcessResponse start(String approverId, String executorId) {
+        return bean(ProcessService.class).startProcess(request(approverId, executorId));
+    }
+
+    protected void startMany(int count, String approverId, String executorId) {
+        ProcessService processService = bean(ProcessService.class);
+        for (int offset = 0; offset < count; offset += START_BATCH) {
+            List<StartProcessRequest> batch = new ArrayList<>();
+            for (int i = offset; i < Math.min(count, offset + START_BATCH); i++) {
+                batch.add(request(approverId, executorId));
+            }
+            processService.startProcesses(batch);
+        }
+    }
+
+    private static StartProcessRequest request(String approverId, String executorId) {
+        return new StartProcessRequest("bench-initiator", approverId, executorId,
+                Map.of("amount", 100, "currency", "EUR"));
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.workflowdemo.archive;
+
+import com.example.workflowdemo.config.ArchiveProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Append-only gzip segments of finished process instances, each with a {@code .idx} file of locations.
+ * Which segment holds an instance is kept in memory, so a lookup of an unknown id reads no index.
+ */
+@Component
+public class ArchiveStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArchiveStore.class);
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String DATA_SUFFIX = ".jsonl.gz";
+    private static final String INDEX_SUFFIX = ".idx";
+
+    private final Path directory;
+    private final long segmentMaxBytes;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Location> locations;
+    private final Map<String, Integer> segmentsById = new ConcurrentHashMap<>();
+    private int currentSegment;
+
+    public ArchiveStore(ArchiveProperties properties, ObjectMapper objectMapper) {
+        this.directory = properties.directory();
+        this.segmentMaxBytes = properties.segmentMaxSize().toBytes();
+        this.objectMapper = objectMapper;
+        this.locations = Caffeine.newBuilder()
+                .maximumSize(properties.lookupCacheSize())
+                .build();
+        try {
+            open();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to open process archive in " + directory, ex);
+        }
+    }
+
+    public Optional<ArchivedProcess> find(String processInstanceId) {
+        Location location = locations.get(processInstanceId, this::lookup);
+        if (location == null) {
+            return Optional.empty();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(location.length());
+        try (FileChannel channel = FileChannel.open(dataFile(location.segment()), StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, location.offset() + buffer.position()) < 0) {
+                    throw new IOException("Archive segment " + location.segment() + " is truncated");
+                }
+            }
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(buffer.array()))) {
+                return Optional.of(objectMapper.readValue(in, ArchivedProcess.class));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read archived process " + processInstanceId, ex);
+        }
+    }
+
+    public synchronized void append(List<ArchivedProcess> processes) throws IOException {
+        if (processes.isEmpty()) {
+            return;
+        }
+        Files.createDirectories(directory);
+        if (currentSegment == 0 || Files.size(dataFile(currentSegment)) >= segmentMaxBytes) {
+            currentSegment++;
+        }
+        Path data = dataFile(currentSegment);
+        Map<String, Location> written = new LinkedHashMap<>();
+        StringBuilder indexLines = new StringBuilder();
+        try (FileChannel channel = FileChannel.open(data, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            long offset = channel.size();
+            channel.position(offset);
+            for (ArchivedProcess process : processes) {
+                byte[] record = compress(process);
+                ByteBuffer buffer = ByteBuffer.wrap(record);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                Location location = new Location(currentSegment, offset, record.length);
+                written.put(process.processInstanceId(), location);
+                indexLines.append(process.processInstanceId()).append('\t').append(offset)
+                        .append('\t').append(record.length).append('\n');
+                offset += record.length;
+            }
+            channel.force(true);
+        }
+        try (FileChannel channel = FileChannel.open(indexFile(currentSegment),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(indexLines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        int segment = currentSegment;
+        written.keySet().forEach(processInstanceId -> segmentsById.put(processInstanceId, segment));
+        locations.putAll(written);
+    }
+
+    private void open() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        for (int segment : segments()) {
+            List<String[]> entries = readIndex(segment);
+            truncateSegment(segment, entries);
+            entries.forEach(entry -> segmentsById.put(entry[0], segment));
+            currentSegment = Math.max(currentSegment, segment);
+        }
+        LOGGER.info("Opened process archive in {} with {} segments", directory, currentSegment);
+    }
+
+    private Location lookup(String processInstanceId) {
+        Integer segment = segmentsById.get(processInstanceId);
+        if (segment == null) {
+            return null;
+        }
+        try {
+            Location location = null;
+            for (String[] entry : readIndex(segment)) {
+                if (entry[0].equals(processInstanceId)) {
+                    location = new Location(segment, Long.parseLong(entry[1]), Integer.parseInt(entry[2]));
+                }
+            }
+            return location;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to look up archived process " + processInstanceId, ex);
+        }
+    }
+
+    private List<Integer> segments() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(INDEX_SUFFIX))
+                    .map(name -> Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - INDEX_SUFFIX.length())))
+                    .sorted(Comparator.naturalOrder())
+                    .toList();
+        }
+    }
+
+    private List<String[]> readIndex(int segment) throws IOException {
+        String content = new String(Files.readAllBytes(indexFile(segment)), StandardCharsets.UTF_8);
+        // a line still being appended has no terminator yet
+        return content.substring(0, content.lastIndexOf('\n') + 1).lines()
+                .map(line -> line.split("\t"))
+                .filter(parts -> parts.length == 3)
+                .toList();
+    }
+
+    private void truncateSegment(int segment, List<String[]> entries) throws IOException {
+        long end = 0;
+        for (String[] entry : entries) {
+            end = Math.max(end, Long.parseLong(entry[1]) + Integer.parseInt(entry[2]));
+        }
+        Path data = dataFile(segment);
+        if (Files.exists(data) && Files.size(data) > end) {
+            LOGGER.warn("Truncating {} unindexed bytes from archive segment {}", Files.size(data) - end, segment);
+            try (FileChannel channel = FileChannel.open(data, StandardOpenOption.WRITE)) {
+                channel.truncate(end);
+            }
+        }
+    }
+
+    private byte[] compress(ArchivedProcess process) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(new NonClosingOutputStream(gzip), process);
+            gzip.write('\n');
+        }
+        return bytes.toByteArray();
+    }
+
+    private Path dataFile(int segment) {
+        return directory.resolve(segmentName(segment) + DATA_SUFFIX);
+    }
+
+    private Path indexFile(int segment) {
+        return directory.resolve(segmentName(segment) + INDEX_SUFFIX);
+    }
+
+    private String segmentName(int segment) {
+        return SEGMENT_PREFIX + String.format("%06d", segment);
+    }
+
+    private record Location(int segment, long offset, int length) {
+    }
+
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        private NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.workflowdemo.archive;
+
+import com.example.workflowdemo.dto.HistoryEntry;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+public record ArchivedProcess(
+        String processInstanceId,
+        String processDefinitionId,
+        OffsetDateTime startTime,
+        OffsetDateTime endTime,
+        List<HistoryEntry> history,
+        Map<String, Object> variables,
+        List<Comment> comments
+) {
+
+    public record Comment(String taskId, String userId, OffsetDateTime time, String message) {
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.workflowdemo.archive;
+
+import com.example.workflowdemo.cache.WorkflowReadCache;
+import com.example.workflowdemo.config.ArchiveProperties;
+import com.example.workflowdemo.dto.ProcessStatusResponse;
+import com.example.workflowdemo.projection.ProcessStatusProjectionRepository;
+import com.example.workflowdemo.service.ProcessStatusLoader;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.task.Comment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "archive")
+public class ProcessArchiver implements SchedulingConfigurer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProcessArchiver.class);
+
+    private final HistoryService historyService;
+    private final TaskService taskService;
+    private final ProcessStatusLoader statusLoader;
+    private final ProcessStatusProjectionRepository projectionRepository;
+    private final ArchiveStore store;
+    private final TransactionTemplate transactionTemplate;
+    private final WorkflowReadCache readCache;
+    private final ArchiveProperties properties;
+
+    public ProcessArchiver(HistoryService historyService,
+                           TaskService taskService,
+                           ProcessStatusLoader statusLoader,
+                           ProcessStatusProjectionRepository projectionRepository,
+                           ArchiveStore store,
+                           TransactionTemplate transactionTemplate,
+                           WorkflowReadCache readCache,
+                           ArchiveProperties properties) {
+        this.historyService = historyService;
+        this.taskService = taskService;
+        this.statusLoader = statusLoader;
+        this.projectionRepository = projectionRepository;
+        this.store = store;
+        this.transactionTemplate = transactionTemplate;
+        this.readCache = readCache;
+        this.properties = properties;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (properties.enabled()) {
+            registrar.addFixedDelayTask(this::archive, properties.interval());
+        }
+    }
+
+    @WriteOperation
+    public Map<String, Object> archive() {
+        return Map.of("archived", archiveFinishedBefore(Instant.now().minus(properties.retainFinishedFor())));
+    }
+
+    public synchronized int archiveFinishedBefore(Instant cutoff) {
+        int archived = 0;
+        List<HistoricProcessInstance> batch;
+        do {
+            batch = historyService.createHistoricProcessInstanceQuery()
+                    .finished()
+                    .finishedBefore(Date.from(cutoff))
+                    .orderByProcessInstanceId()
+                    .asc()
+                    .listPage(0, properties.batchSize());
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<ArchivedProcess> snapshots = batch.stream().map(this::snapshot).toList();
+            try {
+                store.append(snapshots);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Failed to archive finished process instances", ex);
+            }
+            List<String> ids = batch.stream().map(HistoricProcessInstance::getId).toList();
+            transactionTemplate.executeWithoutResult(status -> {
+                historyService.deleteHistoricProcessInstancesBulk(ids);
+                projectionRepository.deleteAll(ids);
+            });
+            ids.forEach(readCache::invalidateProcess);
+            archived += ids.size();
+        } while (batch.size() == properties.batchSize());
+
+        if (archived > 0) {
+            LOGGER.info("Archived {} finished process instances", archived);
+        }
+        return archived;
+    }
+
+    private ArchivedProcess snapshot(HistoricProcessInstance instance) {
+        ProcessStatusResponse status = statusLoader.load(instance.getId());
+        List<ArchivedProcess.Comment> comments = taskService.getProcessInstanceComments(instance.getId()).stream()
+                .map(this::toComment)
+                .toList();
+        return new ArchivedProcess(
+                instance.getId(),
+                instance.getProcessDefinitionId(),
+                toOffset(instance.getStartTime()),
+                toOffset(instance.getEndTime()),
+                status.history(),
+                status.variables(),
+                comments
+        );
+    }
+
+    private ArchivedProcess.Comment toComment(Comment comment) {
+        return new ArchivedProcess.Comment(comment.getTaskId(), comment.getUserId(), toOffset(comment.getTime()),
+                comment.getFullMessage());
+    }
+
+    private OffsetDateTime toOffset(Date date) {
+        return date == null ? null : OffsetDateTime.ofInstant(date.toInstant(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.workflowdemo.cache;
+
+import com.example.workflowdemo.config.ReadCacheProperties;
+import com.example.workflowdemo.support.TransactionCallbacks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters per process instance and per user inbox, used as strong ETags. Values
+ * come from one sequence seeded with the boot time, so a restarted node never reissues a tag.
+ */
+@Component
+public class ResourceVersions {
+
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() << 16);
+    private final Cache<String, Long> processVersions;
+    private final Cache<String, Long> inboxVersions;
+
+    public ResourceVersions(ReadCacheProperties properties) {
+        this.processVersions = Caffeine.newBuilder().maximumSize(properties.versionMaxSize()).build();
+        this.inboxVersions = Caffeine.newBuilder().maximumSize(properties.versionMaxSize()).build();
+    }
+
+    /**
+     * Strong ETag of one representation of a process instance; {@code variant} holds the
+     * request parameters that shape the response.
+     */
+    public String processTag(String processInstanceId, Object... variant) {
+        return tag(processVersions.get(processInstanceId, key -> sequence.incrementAndGet()), variant);
+    }
+
+    public String inboxTag(String userId, Object... variant) {
+        return tag(inboxVersions.get(userId, key -> sequence.incrementAndGet()), variant);
+    }
+
+    public void bumpProcess(String processInstanceId) {
+        bump(processVersions, processInstanceId);
+    }
+
+    public void bumpInbox(String userId) {
+        bump(inboxVersions, userId);
+    }
+
+    private void bump(Cache<String, Long> versions, String key) {
+        if (key == null) {
+            return;
+        }
+        Runnable bump = () -> versions.put(key, sequence.incrementAndGet());
+        bump.run();
+        TransactionCallbacks.afterCompletion(bump);
+    }
+
+    private String tag(long version, Object... variant) {
+        return "\"" + Long.toString(version, 36) + "-" + Integer.toHexString(Arrays.deepHashCode(variant)) + "\"";
+    }
+}
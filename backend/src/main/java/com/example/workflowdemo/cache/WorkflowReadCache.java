@@ -0,0 +1,93 @@
+package com.example.workflowdemo.cache;
+
+import com.example.workflowdemo.config.ReadCacheProperties;
+import com.example.workflowdemo.dto.ProcessStatusResponse;
+import com.example.workflowdemo.dto.TaskPage;
+import com.example.workflowdemo.service.StatusView;
+import com.example.workflowdemo.support.TransactionCallbacks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Status and first inbox pages, invalidated by workflow events both immediately and again
+ * after the engine transaction completes.
+ */
+@Component
+public class WorkflowReadCache {
+
+    private final boolean enabled;
+    private final Cache<String, Map<StatusView, ProcessStatusResponse>> statusCache;
+    private final Cache<String, Map<String, TaskPage>> inboxCache;
+    private final Counter statusInvalidations;
+    private final Counter inboxInvalidations;
+
+    public WorkflowReadCache(ReadCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.statusCache = Caffeine.newBuilder()
+                .maximumSize(properties.statusMaxSize())
+                .expireAfterWrite(properties.statusTtl())
+                .recordStats()
+                .build();
+        this.inboxCache = Caffeine.newBuilder()
+                .maximumSize(properties.inboxMaxSize())
+                .expireAfterWrite(properties.inboxTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, statusCache, "workflow.status");
+        CaffeineCacheMetrics.monitor(meterRegistry, inboxCache, "workflow.inbox");
+        this.statusInvalidations = Counter.builder("workflow.cache.invalidations")
+                .tag("cache", "workflow.status")
+                .register(meterRegistry);
+        this.inboxInvalidations = Counter.builder("workflow.cache.invalidations")
+                .tag("cache", "workflow.inbox")
+                .register(meterRegistry);
+    }
+
+    public ProcessStatusResponse status(String processInstanceId, StatusView view, Supplier<ProcessStatusResponse> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return statusCache.get(processInstanceId, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(view, key -> loader.get());
+    }
+
+    public TaskPage inbox(String userId, String role, Supplier<TaskPage> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return inboxCache.get(userId, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(role.toLowerCase(), key -> loader.get());
+    }
+
+    public void invalidateProcess(String processInstanceId) {
+        if (processInstanceId == null) {
+            return;
+        }
+        Runnable eviction = () -> {
+            statusCache.invalidate(processInstanceId);
+            statusInvalidations.increment();
+        };
+        eviction.run();
+        TransactionCallbacks.afterCompletion(eviction);
+    }
+
+    public void invalidateInbox(String userId) {
+        if (userId == null) {
+            return;
+        }
+        Runnable eviction = () -> {
+            inboxCache.invalidate(userId);
+            inboxInvalidations.increment();
+        };
+        eviction.run();
+        TransactionCallbacks.afterCompletion(eviction);
+    }
+}
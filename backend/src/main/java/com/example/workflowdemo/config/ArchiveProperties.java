@@ -0,0 +1,20 @@
+package com.example.workflowdemo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties("workflow.archive")
+public record ArchiveProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/archive") Path directory,
+        @DefaultValue("7d") Duration retainFinishedFor,
+        @DefaultValue("100") int batchSize,
+        @DefaultValue("64MB") DataSize segmentMaxSize,
+        @DefaultValue("10000") int lookupCacheSize,
+        @DefaultValue("1h") Duration interval
+) {
+}
@@ -0,0 +1,50 @@
+package com.example.workflowdemo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties("workflow.audit")
+public record AuditProperties(
+        @DefaultValue("SYNC") Mode mode,
+        @DefaultValue("8192") int bufferSize,
+        @DefaultValue("256") int batchSize,
+        @DefaultValue("BLOCK") FullPolicy fullPolicy,
+        @DefaultValue("logs/audit-spill") Path spillDirectory,
+        @DefaultValue("10s") Duration shutdownTimeout,
+        @DefaultValue Store store
+) {
+
+    public record Store(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("data/audit") Path directory,
+            @DefaultValue("64MB") DataSize segmentMaxSize,
+            @DefaultValue("1d") Duration segmentMaxAge,
+            @DefaultValue("90d") Duration retention,
+            @DefaultValue("10m") Duration maintenanceInterval,
+            @DefaultValue("1000") int maxResults,
+            @DefaultValue("4096") int postingsCacheSize
+    ) {
+
+        public Store {
+            if (segmentMaxSize.compareTo(DataSize.ofGigabytes(1)) > 0) {
+                throw new IllegalArgumentException("workflow.audit.store.segment-max-size must not exceed 1GB,"
+                        + " record offsets are stored as int");
+            }
+        }
+    }
+
+    public enum Mode {
+        SYNC,
+        ASYNC
+    }
+
+    public enum FullPolicy {
+        BLOCK,
+        DROP,
+        SPILL
+    }
+}
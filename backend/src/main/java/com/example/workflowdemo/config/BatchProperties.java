@@ -0,0 +1,23 @@
+package com.example.workflowdemo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+@ConfigurationProperties("workflow.batch")
+public record BatchProperties(
+        @DefaultValue("1000") int maxItems,
+        @DefaultValue("50") int startChunkSize,
+        @DefaultValue("25") int taskChunkSize
+) {
+
+    public void checkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one item");
+        }
+        if (items.size() > maxItems) {
+            throw new IllegalArgumentException("Batch size " + items.size() + " exceeds the limit of " + maxItems);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.workflowdemo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("workflow.concurrency")
+public record ConcurrencyProperties(
+        @DefaultValue("256") int lockStripes,
+        @DefaultValue("5s") Duration lockTimeout,
+        @DefaultValue("3") int maxRetries,
+        @DefaultValue("20ms") Duration retryBackoff,
+        @DefaultValue("250ms") Duration maxRetryBackoff,
+        @DefaultValue("10000") int taskLookupCacheSize
+) {
+}
@@ -0,0 +1,10 @@
+package com.example.workflowdemo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("workflow.engine")
+public record EngineProperties(
+        @DefaultValue("false") boolean asyncAfterUserTasks
+) {
+}
@@ -0,0 +1,25 @@
+package com.example.workflowdemo.config;
+
+import com.example.workflowdemo.payload.PromotedField;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+@ConfigurationProperties("workflow.inbox")
+public record InboxProperties(
+        @DefaultValue("50") int defaultPageSize,
+        @DefaultValue("200") int maxPageSize,
+        @DefaultValue Map<String, PromotedField.Type> promotedFields
+) {
+
+    public int resolvePageSize(Integer requested) {
+        if (requested == null) {
+            return defaultPageSize;
+        }
+        if (requested < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return Math.min(requested, maxPageSize);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.workflowdemo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("workflow.metrics")
+public record MetricsProperties(
+        @DefaultValue("30s") Duration openTaskRefresh,
+        @DefaultValue("200") int maxAssigneeTags
+) {
+}
@@ -0,0 +1,16 @@
+package com.example.workflowdemo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("workflow.push")
+public record PushProperties(
+        @DefaultValue("256") int subscriberBufferSize,
+        @DefaultValue("1024") int replaySize,
+        @DefaultValue("15s") Duration heartbeatInterval,
+        @DefaultValue("30m") Duration emitterTimeout,
+        @DefaultValue("2") int dispatcherThreads
+) {
+}
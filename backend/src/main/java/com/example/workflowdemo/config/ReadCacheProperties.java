@@ -0,0 +1,17 @@
+package com.example.workflowdemo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("workflow.cache")
+public record ReadCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") long statusMaxSize,
+        @DefaultValue("5m") Duration statusTtl,
+        @DefaultValue("5000") long inboxMaxSize,
+        @DefaultValue("1m") Duration inboxTtl,
+        @DefaultValue("100000") long versionMaxSize
+) {
+}
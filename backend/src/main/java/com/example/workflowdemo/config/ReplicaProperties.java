@@ -0,0 +1,26 @@
+package com.example.workflowdemo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("workflow.replica")
+public record ReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        String url,
+        @DefaultValue("sa") String username,
+        String password,
+        @DefaultValue("10") int maxPoolSize,
+        @DefaultValue("5s") Duration stickiness,
+        @DefaultValue("2s") Duration maxLag,
+        @DefaultValue("1s") Duration heartbeatInterval,
+        @DefaultValue("100000") long stickyMaxSize
+) {
+
+    public ReplicaProperties {
+        if (enabled && stickiness.compareTo(maxLag.plus(heartbeatInterval)) <= 0) {
+            throw new IllegalArgumentException("workflow.replica.stickiness must be greater than max-lag plus heartbeat-interval");
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.workflowdemo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("workflow.startup")
+public record StartupProperties(
+        @DefaultValue("false") boolean schemaChecksum,
+        @DefaultValue("false") boolean skipUnchangedDeployment,
+        @DefaultValue Warmup warmup
+) {
+
+    public record Warmup(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("50") int iterations
+    ) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.workflowdemo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("workflow.status")
+public record StatusProperties(
+        @DefaultValue("100") int defaultHistoryPageSize,
+        @DefaultValue("500") int maxHistoryPageSize
+) {
+
+    public int resolveHistoryPageSize(Integer requested) {
+        if (requested == null) {
+            return defaultHistoryPageSize;
+        }
+        if (requested < 1) {
+            throw new IllegalArgumentException("History page size must be positive");
+        }
+        return Math.min(requested, maxHistoryPageSize);
+    }
+}
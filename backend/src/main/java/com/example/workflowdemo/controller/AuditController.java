@@ -0,0 +1,30 @@
+package com.example.workflowdemo.controller;
+
+import com.example.workflowdemo.logging.AuditEvent;
+import com.example.workflowdemo.logging.AuditStore;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/audit")
+public class AuditController {
+
+    private final AuditStore auditStore;
+
+    public AuditController(AuditStore auditStore) {
+        this.auditStore = auditStore;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<AuditEvent>> find(@RequestParam(required = false) String processInstanceId,
+                                                 @RequestParam(required = false) String taskId,
+                                                 @RequestParam(required = false) String operator,
+                                                 @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(auditStore.find(processInstanceId, taskId, operator, limit));
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.workflowdemo.controller;
+
+import com.example.workflowdemo.identity.IdentityContextHolder;
+import com.example.workflowdemo.identity.MockIdentity;
+import com.example.workflowdemo.push.WorkflowEventBroadcaster;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/events")
+public class EventStreamController {
+
+    public static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+    private final WorkflowEventBroadcaster broadcaster;
+
+    public EventStreamController(WorkflowEventBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    @GetMapping(path = "/tasks", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter taskEvents(@RequestParam(required = false) String role,
+                                 @RequestParam(required = false) String userId,
+                                 @RequestHeader(name = LAST_EVENT_ID_HEADER, required = false) String lastEventId) {
+        String resolvedUserId = IdentityContextHolder.requireUserId(userId);
+        String resolvedRole = StringUtils.hasText(role)
+                ? role.trim()
+                : IdentityContextHolder.get().flatMap(MockIdentity::primaryRole).orElse(null);
+        return broadcaster.subscribeInbox(resolvedUserId, resolvedRole, parseEventId(lastEventId));
+    }
+
+    @GetMapping(path = "/process/{processInstanceId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter processEvents(@PathVariable String processInstanceId,
+                                    @RequestHeader(name = LAST_EVENT_ID_HEADER, required = false) String lastEventId) {
+        return broadcaster.subscribeProcess(processInstanceId, parseEventId(lastEventId));
+    }
+
+    private Long parseEventId(String lastEventId) {
+        if (!StringUtils.hasText(lastEventId)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid Last-Event-ID: " + lastEventId);
+        }
+    }
+}
@@ -1,11 +1,17 @@
 package com.example.workflowdemo.controller;
 
+import com.example.workflowdemo.service.ProcessBusyException;
+import org.camunda.bpm.engine.OptimisticLockingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -13,6 +19,8 @@ import java.util.Map;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, Object>> handleIllegalArgument(IllegalArgumentException ex) {
         Map<String, Object> body = new HashMap<>();
@@ -32,10 +40,33 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(body);
     }
 
+    @ExceptionHandler(OptimisticLockingException.class)
+    public ResponseEntity<Map<String, Object>> handleConflict(OptimisticLockingException ex) {
+        return conflict("CONCURRENT_MODIFICATION", "Concurrent modification, please retry");
+    }
+
+    @ExceptionHandler(ProcessBusyException.class)
+    public ResponseEntity<Map<String, Object>> handleBusy(ProcessBusyException ex) {
+        return conflict("PROCESS_BUSY", ex.getMessage());
+    }
+
+    @ExceptionHandler(AsyncRequestNotUsableException.class)
+    public void handleClientGone(AsyncRequestNotUsableException ex) {
+        LOGGER.debug("Client went away before the response was written", ex);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleUnexpected(Exception ex) {
+        LOGGER.error("Unhandled request failure", ex);
         Map<String, Object> body = new HashMap<>();
         body.put("error", "Internal server error");
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(body);
     }
+
+    private ResponseEntity<Map<String, Object>> conflict(String code, String message) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", message);
+        body.put("code", code);
+        return ResponseEntity.status(HttpStatus.CONFLICT).header(HttpHeaders.RETRY_AFTER, "1").body(body);
+    }
 }
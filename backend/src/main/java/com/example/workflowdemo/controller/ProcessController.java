@@ -1,18 +1,25 @@
 package com.example.workflowdemo.controller;
 
+import com.example.workflowdemo.cache.ResourceVersions;
+import com.example.workflowdemo.dto.BatchResponse;
 import com.example.workflowdemo.dto.ProcessStatusResponse;
 import com.example.workflowdemo.dto.StartProcessRequest;
 import com.example.workflowdemo.dto.StartProcessResponse;
 import com.example.workflowdemo.service.ProcessService;
 import com.example.workflowdemo.service.ProcessStatusService;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/process")
@@ -20,11 +27,14 @@ public class ProcessController {
 
     private final ProcessService processService;
     private final ProcessStatusService statusService;
+    private final ResourceVersions versions;
 
     public ProcessController(ProcessService processService,
-                             ProcessStatusService statusService) {
+                             ProcessStatusService statusService,
+                             ResourceVersions versions) {
         this.processService = processService;
         this.statusService = statusService;
+        this.versions = versions;
     }
 
     @PostMapping("/start")
@@ -32,8 +42,24 @@ public class ProcessController {
         return ResponseEntity.ok(processService.startProcess(request));
     }
 
+    @PostMapping("/start/batch")
+    public ResponseEntity<BatchResponse<StartProcessResponse>> startProcesses(@RequestBody List<StartProcessRequest> requests) {
+        return ResponseEntity.ok(processService.startProcesses(requests));
+    }
+
     @GetMapping("/{processInstanceId}")
-    public ResponseEntity<ProcessStatusResponse> getStatus(@PathVariable String processInstanceId) {
-        return ResponseEntity.ok(statusService.getStatus(processInstanceId));
+    public ResponseEntity<ProcessStatusResponse> getStatus(@PathVariable String processInstanceId,
+                                                           @RequestParam(required = false) String include,
+                                                           @RequestParam(required = false) Integer historyOffset,
+                                                           @RequestParam(required = false) Integer historySize,
+                                                           WebRequest request) {
+        String etag = versions.processTag(processInstanceId, include, historyOffset, historySize);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(statusService.getStatus(processInstanceId, include, historyOffset, historySize));
     }
 }
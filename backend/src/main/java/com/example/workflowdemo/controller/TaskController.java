@@ -1,11 +1,17 @@
 package com.example.workflowdemo.controller;
 
+import com.example.workflowdemo.cache.ResourceVersions;
+import com.example.workflowdemo.dto.BatchResponse;
+import com.example.workflowdemo.dto.BulkTaskDecisionRequest;
 import com.example.workflowdemo.dto.TaskActionRequest;
 import com.example.workflowdemo.dto.TaskDecisionRequest;
 import com.example.workflowdemo.dto.TaskListItem;
 import com.example.workflowdemo.dto.TaskOperationResponse;
+import com.example.workflowdemo.dto.TaskPage;
+import com.example.workflowdemo.identity.IdentityContextHolder;
 import com.example.workflowdemo.service.TaskApplicationService;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,6 +20,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -21,16 +28,43 @@ import java.util.List;
 @RequestMapping("/api/tasks")
 public class TaskController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final TaskApplicationService taskApplicationService;
+    private final ResourceVersions versions;
 
-    public TaskController(TaskApplicationService taskApplicationService) {
+    public TaskController(TaskApplicationService taskApplicationService, ResourceVersions versions) {
         this.taskApplicationService = taskApplicationService;
+        this.versions = versions;
     }
 
     @GetMapping
     public ResponseEntity<List<TaskListItem>> findTasks(@RequestParam(required = false) String role,
-                                                        @RequestParam(required = false) String userId) {
-        return ResponseEntity.ok(taskApplicationService.findTasks(role, userId));
+                                                        @RequestParam(required = false) String userId,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer size,
+                                                        @RequestParam(required = false) List<String> filter,
+                                                        @RequestParam(required = false) String sort,
+                                                        WebRequest request) {
+        String resolvedUserId = IdentityContextHolder.requireUserId(userId);
+        String etag = versions.inboxTag(resolvedUserId, IdentityContextHolder.requireRole(role), cursor, size, filter, sort);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        TaskPage page = taskApplicationService.findTasks(role, userId, cursor, size, filter, sort);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(IdentityContextHolder.USER_HEADER, IdentityContextHolder.ROLES_HEADER);
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<BatchResponse<TaskOperationResponse>> decideTasks(@RequestBody BulkTaskDecisionRequest request) {
+        return ResponseEntity.ok(taskApplicationService.decideTasks(request));
     }
 
     @PostMapping("/{taskId}/approve")
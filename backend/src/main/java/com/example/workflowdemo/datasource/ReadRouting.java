@@ -0,0 +1,160 @@
+package com.example.workflowdemo.datasource;
+
+import com.example.workflowdemo.config.ReplicaProperties;
+import com.example.workflowdemo.identity.IdentityContextHolder;
+import com.example.workflowdemo.support.TransactionCallbacks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+@Component
+public class ReadRouting implements SchedulingConfigurer, MeterBinder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReadRouting.class);
+    private static final String PROCESS_KEY = "process:";
+    private static final String USER_KEY = "user:";
+
+    private final ReplicaProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate replicaTransaction;
+    private final Cache<String, Boolean> recentWrites;
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+    private final long checkValidityNanos;
+    private volatile boolean replicaUsable;
+    private volatile long lastUsableCheck;
+    private volatile long replicaLagMillis = -1;
+
+    public ReadRouting(ReplicaProperties properties,
+                       JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.replicaTransaction = new TransactionTemplate(transactionManager);
+        this.replicaTransaction.setReadOnly(true);
+        this.checkValidityNanos = properties.maxLag().plus(properties.heartbeatInterval()).toNanos();
+        this.recentWrites = Caffeine.newBuilder()
+                .maximumSize(properties.stickyMaxSize())
+                .expireAfterWrite(properties.stickiness())
+                .build();
+        this.replicaReads = Counter.builder("workflow.datasource.reads").tag("target", "replica").register(meterRegistry);
+        this.primaryReads = Counter.builder("workflow.datasource.reads").tag("target", "primary").register(meterRegistry);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("workflow.datasource.replica.lag", this, routing -> routing.replicaLagMillis)
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (properties.enabled()) {
+            registrar.addFixedDelayTask(this::heartbeat, properties.heartbeatInterval());
+        }
+    }
+
+    public <T> T readProcess(String processInstanceId, Supplier<T> query) {
+        return read(PROCESS_KEY + processInstanceId, query);
+    }
+
+    public <T> T readInbox(String userId, Supplier<T> query) {
+        return read(USER_KEY + userId, query);
+    }
+
+    public void processWritten(String processInstanceId) {
+        pin(PROCESS_KEY, processInstanceId);
+    }
+
+    public void userWritten(String userId) {
+        pin(USER_KEY, userId);
+    }
+
+    void heartbeat() {
+        Instant now = Instant.now();
+        boolean usable;
+        try {
+            Timestamp beat = replicaTransaction.execute(status -> jdbcTemplate.queryForObject(
+                    "SELECT beat FROM workflow_replica_heartbeat WHERE id = 1", Timestamp.class));
+            replicaLagMillis = Math.max(0, Duration.between(beat.toInstant(), now).toMillis());
+            usable = replicaLagMillis <= properties.maxLag().toMillis();
+            if (usable) {
+                lastUsableCheck = System.nanoTime();
+            }
+        } catch (RuntimeException ex) {
+            LOGGER.debug("Replica heartbeat could not be read", ex);
+            replicaLagMillis = -1;
+            usable = false;
+        }
+        if (usable != replicaUsable) {
+            LOGGER.info("Replica reads {} (lag {} ms)", usable ? "enabled" : "suspended", replicaLagMillis);
+            replicaUsable = usable;
+        }
+
+        try {
+            Timestamp beat = Timestamp.from(now);
+            if (jdbcTemplate.update("UPDATE workflow_replica_heartbeat SET beat = ? WHERE id = 1", beat) == 0) {
+                jdbcTemplate.update("INSERT INTO workflow_replica_heartbeat (id, beat) VALUES (1, ?)", beat);
+            }
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Failed to write replica heartbeat", ex);
+        }
+    }
+
+    private <T> T read(String key, Supplier<T> query) {
+        if (!properties.enabled()) {
+            return query.get();
+        }
+        if (!replicaUsable() || TransactionSynchronizationManager.isActualTransactionActive() || recentlyWritten(key)) {
+            primaryReads.increment();
+            return query.get();
+        }
+        replicaReads.increment();
+        return replicaTransaction.execute(status -> query.get());
+    }
+
+    /**
+     * The last check only vouches for the replica for max-lag plus one heartbeat interval; if the
+     * heartbeat is delayed, for example by other tasks on the shared scheduler, reads go to the primary.
+     */
+    private boolean replicaUsable() {
+        return replicaUsable && System.nanoTime() - lastUsableCheck <= checkValidityNanos;
+    }
+
+    private boolean recentlyWritten(String key) {
+        if (recentWrites.getIfPresent(key) != null) {
+            return true;
+        }
+        return IdentityContextHolder.get()
+                .map(identity -> recentWrites.getIfPresent(USER_KEY + identity.userId()) != null)
+                .orElse(false);
+    }
+
+    private void pin(String prefix, String id) {
+        if (!properties.enabled() || id == null) {
+            return;
+        }
+        Runnable pin = () -> recentWrites.put(prefix + id, Boolean.TRUE);
+        pin.run();
+        TransactionCallbacks.afterCompletion(pin);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.workflowdemo.datasource;
+
+import com.example.workflowdemo.config.ReplicaProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+
+@Configuration(proxyBeanMethods = false)
+public class ReplicaDataSourceConfiguration {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    static BeanPostProcessor replicaRoutingDataSource(ObjectProvider<ReplicaProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource primary
+                        && properties.getObject().enabled()) {
+                    return new RoutingDataSource(primary, replica(properties.getObject()));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static HikariDataSource replica(ReplicaProperties properties) {
+        if (!StringUtils.hasText(properties.url())) {
+            throw new IllegalStateException("workflow.replica.url is required when workflow.replica.enabled is set");
+        }
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(properties.url())
+                .username(properties.username())
+                .password(properties.password())
+                .build();
+        replica.setPoolName("replica");
+        replica.setMaximumPoolSize(properties.maxPoolSize());
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    static final class RoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+        private final HikariDataSource replica;
+
+        RoutingDataSource(DataSource primary, HikariDataSource replica) {
+            super(primary);
+            this.replica = replica;
+            setReadOnlyDataSource(replica);
+        }
+
+        @Override
+        public void close() {
+            replica.close();
+            if (obtainTargetDataSource() instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception ex) {
+                    throw new IllegalStateException("Failed to close primary data source", ex);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.workflowdemo.dto;
+
+import java.time.OffsetDateTime;
+
+public record ActivityExportItem(
+        String activityInstanceId,
+        String processInstanceId,
+        String activityId,
+        String activityName,
+        String activityType,
+        String assignee,
+        OffsetDateTime startTime,
+        OffsetDateTime endTime
+) {
+}
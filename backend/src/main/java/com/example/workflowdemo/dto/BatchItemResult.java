@@ -0,0 +1,16 @@
+package com.example.workflowdemo.dto;
+
+public record BatchItemResult<T>(
+        int index,
+        T result,
+        String error
+) {
+
+    public static <T> BatchItemResult<T> success(int index, T result) {
+        return new BatchItemResult<>(index, result, null);
+    }
+
+    public static <T> BatchItemResult<T> failure(int index, String error) {
+        return new BatchItemResult<>(index, null, error);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.workflowdemo.dto;
+
+import java.util.List;
+
+public record BatchResponse<T>(
+        int succeeded,
+        int failed,
+        List<BatchItemResult<T>> items
+) {
+
+    public static <T> BatchResponse<T> of(List<BatchItemResult<T>> items) {
+        int failed = (int) items.stream().filter(item -> item.error() != null).count();
+        return new BatchResponse<>(items.size() - failed, failed, items);
+    }
+}
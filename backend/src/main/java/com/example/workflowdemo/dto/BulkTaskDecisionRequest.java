@@ -0,0 +1,12 @@
+package com.example.workflowdemo.dto;
+
+import java.util.List;
+
+public record BulkTaskDecisionRequest(
+        String action,
+        List<String> taskIds,
+        String userId,
+        String comment,
+        String reason
+) {
+}
@@ -1,6 +1,7 @@
 package com.example.workflowdemo.dto;
 
 import com.example.workflowdemo.process.ProcessState;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import java.util.List;
 import java.util.Map;
@@ -8,8 +9,9 @@ import java.util.Map;
 public record ProcessStatusResponse(
         String processInstanceId,
         ProcessState state,
-        TaskSummary currentTask,
-        List<HistoryEntry> history,
-        Map<String, Object> variables
+        @JsonInclude(JsonInclude.Include.NON_NULL) TaskSummary currentTask,
+        @JsonInclude(JsonInclude.Include.NON_NULL) List<HistoryEntry> history,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Map<String, Object> variables,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Integer nextHistoryOffset
 ) {
 }
@@ -0,0 +1,15 @@
+package com.example.workflowdemo.dto;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+public record TaskExportItem(
+        String taskId,
+        String taskName,
+        String taskDefinitionKey,
+        String assignee,
+        String processInstanceId,
+        OffsetDateTime createdAt,
+        Map<String, Object> payload
+) {
+}
@@ -5,6 +5,7 @@ import com.example.workflowdemo.process.ProcessState;
 public record TaskOperationResponse(
         String taskId,
         String status,
-        ProcessState nextState
+        ProcessState nextState,
+        boolean transitionPending
 ) {
 }
@@ -0,0 +1,9 @@
+package com.example.workflowdemo.dto;
+
+import java.util.List;
+
+public record TaskPage(
+        List<TaskListItem> items,
+        String nextCursor
+) {
+}
@@ -0,0 +1,44 @@
+package com.example.workflowdemo.engine;
+
+import com.example.workflowdemo.config.EngineProperties;
+import org.camunda.bpm.engine.impl.bpmn.parser.AbstractBpmnParseListener;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseListener;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ScopeImpl;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Marks every user task as async-after when {@code workflow.engine.async-after-user-tasks} is set.
+ */
+@Component
+public class AsyncContinuationPlugin extends AbstractProcessEnginePlugin {
+
+    private final EngineProperties properties;
+
+    public AsyncContinuationPlugin(EngineProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        if (!properties.asyncAfterUserTasks()) {
+            return;
+        }
+        List<BpmnParseListener> listeners = configuration.getCustomPostBPMNParseListeners() != null
+                ? new ArrayList<>(configuration.getCustomPostBPMNParseListeners())
+                : new ArrayList<>();
+        listeners.add(new AbstractBpmnParseListener() {
+            @Override
+            public void parseUserTask(Element userTaskElement, ScopeImpl scope, ActivityImpl activity) {
+                activity.setAsyncAfter(true, true);
+            }
+        });
+        configuration.setCustomPostBPMNParseListeners(listeners);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.workflowdemo.engine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every engine command, transaction included, as {@code workflow.engine.commands}
+ * tagged with the command class and whether it succeeded.
+ */
+@Component
+public class CommandMetricsPlugin extends AbstractProcessEnginePlugin {
+
+    private final MeterRegistry registry;
+
+    public CommandMetricsPlugin(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        configuration.setCustomPreCommandInterceptorsTxRequired(
+                withTiming(configuration.getCustomPreCommandInterceptorsTxRequired()));
+        configuration.setCustomPreCommandInterceptorsTxRequiresNew(
+                withTiming(configuration.getCustomPreCommandInterceptorsTxRequiresNew()));
+    }
+
+    private List<CommandInterceptor> withTiming(List<CommandInterceptor> existing) {
+        List<CommandInterceptor> interceptors = existing != null ? new ArrayList<>(existing) : new ArrayList<>();
+        interceptors.add(new TimingInterceptor(registry));
+        return interceptors;
+    }
+
+    private static final class TimingInterceptor extends CommandInterceptor {
+
+        private final ClassValue<Timer[]> timers;
+
+        private TimingInterceptor(MeterRegistry registry) {
+            this.timers = new ClassValue<>() {
+                @Override
+                protected Timer[] computeValue(Class<?> type) {
+                    String command = type.getSimpleName().isEmpty() ? type.getName() : type.getSimpleName();
+                    return new Timer[]{
+                            Timer.builder("workflow.engine.commands").tag("command", command).tag("outcome", "success")
+                                    .register(registry),
+                            Timer.builder("workflow.engine.commands").tag("command", command).tag("outcome", "error")
+                                    .register(registry)
+                    };
+                }
+            };
+        }
+
+        @Override
+        public <T> T execute(Command<T> command) {
+            Timer[] commandTimers = timers.get(command.getClass());
+            long start = System.nanoTime();
+            try {
+                T result = next.execute(command);
+                commandTimers[0].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return result;
+            } catch (RuntimeException ex) {
+                commandTimers[1].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw ex;
+            }
+        }
+    }
+}
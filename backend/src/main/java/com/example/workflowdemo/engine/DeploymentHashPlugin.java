@@ -0,0 +1,101 @@
+package com.example.workflowdemo.engine;
+
+import com.example.workflowdemo.config.StartupProperties;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.repository.DeploymentBuilder;
+import org.camunda.bpm.engine.spring.SpringTransactionsProcessEngineConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+
+/**
+ * Takes over the starter's auto-deployment and skips it while the hash of the resources
+ * matches the one stored after the last deployment.
+ */
+@Component
+public class DeploymentHashPlugin extends AbstractProcessEnginePlugin {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeploymentHashPlugin.class);
+    private static final String STAMP_NAME = "deployment";
+
+    private final StartupStamps stamps;
+    private final StartupProperties properties;
+    private Resource[] resources = new Resource[0];
+    private String deploymentName;
+    private String tenantId;
+
+    public DeploymentHashPlugin(JdbcTemplate jdbcTemplate, StartupProperties properties) {
+        this.stamps = new StartupStamps(jdbcTemplate);
+        this.properties = properties;
+    }
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        if (!properties.skipUnchangedDeployment()
+                || !(configuration instanceof SpringTransactionsProcessEngineConfiguration spring)
+                || spring.getDeploymentResources() == null) {
+            return;
+        }
+        resources = spring.getDeploymentResources().clone();
+        Arrays.sort(resources, Comparator.comparing(Resource::getFilename, Comparator.nullsFirst(Comparator.naturalOrder())));
+        deploymentName = spring.getDeploymentName();
+        tenantId = spring.getDeploymentTenantId();
+        spring.setDeploymentResources(new Resource[0]);
+    }
+
+    @Override
+    public void postProcessEngineBuild(ProcessEngine processEngine) {
+        if (resources.length == 0) {
+            return;
+        }
+        try {
+            String hash = hash(resources);
+            if (stamps.matches(STAMP_NAME, hash)) {
+                LOGGER.info("Deployment {} is unchanged, skipping deployment", deploymentName);
+                return;
+            }
+            DeploymentBuilder deployment = processEngine.getRepositoryService().createDeployment()
+                    .name(deploymentName)
+                    .tenantId(tenantId)
+                    .enableDuplicateFiltering(true);
+            for (Resource resource : resources) {
+                try (InputStream content = resource.getInputStream()) {
+                    deployment.addInputStream(resource.getFilename(), content);
+                }
+            }
+            deployment.deploy();
+            stamps.store(STAMP_NAME, hash);
+            LOGGER.info("Deployed changed resource(s) of {} with hash {}", deploymentName, hash);
+        } catch (IOException ex) {
+            throw new ProcessEngineException("Failed to read deployment resources", ex);
+        }
+    }
+
+    private static String hash(Resource[] resources) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Resource resource : resources) {
+                digest.update(String.valueOf(resource.getFilename()).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(resource.getContentAsByteArray());
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, 8);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
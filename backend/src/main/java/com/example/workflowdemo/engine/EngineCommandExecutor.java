@@ -0,0 +1,20 @@
+package com.example.workflowdemo.engine;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EngineCommandExecutor {
+
+    private final ProcessEngineConfigurationImpl configuration;
+
+    public EngineCommandExecutor(ProcessEngine processEngine) {
+        this.configuration = (ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration();
+    }
+
+    public <T> T execute(Command<T> command) {
+        return configuration.getCommandExecutorTxRequired().execute(command);
+    }
+}
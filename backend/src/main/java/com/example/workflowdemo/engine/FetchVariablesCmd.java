@@ -0,0 +1,158 @@
+package com.example.workflowdemo.engine;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.variable.serializer.TypedValueSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.ValueFields;
+import org.camunda.bpm.engine.impl.variable.serializer.VariableSerializers;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Loads process-level variables for a set of process instances with a single select. The result is
+ * keyed by variable name, then by process instance id.
+ */
+public class FetchVariablesCmd implements Command<Map<String, Map<String, Object>>> {
+
+    private final Collection<String> variableNames;
+    private final Collection<String> processInstanceIds;
+
+    public FetchVariablesCmd(String variableName, Collection<String> processInstanceIds) {
+        this(List.of(variableName), processInstanceIds);
+    }
+
+    public FetchVariablesCmd(Collection<String> variableNames, Collection<String> processInstanceIds) {
+        this.variableNames = Set.copyOf(variableNames);
+        this.processInstanceIds = processInstanceIds;
+    }
+
+    @Override
+    public Map<String, Map<String, Object>> execute(CommandContext commandContext) {
+        Map<String, Map<String, Object>> values = new HashMap<>();
+        variableNames.forEach(name -> values.put(name, new HashMap<>()));
+        if (processInstanceIds.isEmpty()) {
+            return values;
+        }
+        String prefix = commandContext.getProcessEngineConfiguration().getDatabaseTablePrefix();
+        String names = variableNames.stream().map(name -> "?").collect(Collectors.joining(","));
+        String placeholders = processInstanceIds.stream().map(id -> "?").collect(Collectors.joining(","));
+        String sql = "SELECT V.NAME_, V.PROC_INST_ID_, V.TYPE_, V.TEXT_, V.TEXT2_, V.LONG_, V.DOUBLE_, B.BYTES_"
+                + " FROM " + prefix + "ACT_RU_VARIABLE V"
+                + " LEFT JOIN " + prefix + "ACT_GE_BYTEARRAY B ON B.ID_ = V.BYTEARRAY_ID_"
+                + " WHERE V.NAME_ IN (" + names + ") AND V.TASK_ID_ IS NULL AND V.EXECUTION_ID_ = V.PROC_INST_ID_"
+                + " AND V.PROC_INST_ID_ IN (" + placeholders + ")";
+
+        VariableSerializers serializers = commandContext.getProcessEngineConfiguration().getVariableSerializers();
+        Connection connection = commandContext.getDbSqlSession().getSqlSession().getConnection();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int index = 1;
+            for (String variableName : variableNames) {
+                statement.setString(index++, variableName);
+            }
+            for (String processInstanceId : processInstanceIds) {
+                statement.setString(index++, processInstanceId);
+            }
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    TypedValueSerializer<?> serializer = serializers.getSerializerByName(rows.getString("TYPE_"));
+                    if (serializer == null) {
+                        continue;
+                    }
+                    String name = rows.getString("NAME_");
+                    RowValueFields fields = new RowValueFields(name, rows);
+                    values.get(name).put(rows.getString("PROC_INST_ID_"),
+                            serializer.readValue(fields, true, false).getValue());
+                }
+            }
+        } catch (SQLException ex) {
+            throw new ProcessEngineException("Failed to fetch variables " + variableNames, ex);
+        }
+        return values;
+    }
+
+    private static final class RowValueFields implements ValueFields {
+
+        private final String name;
+        private String textValue;
+        private String textValue2;
+        private Long longValue;
+        private Double doubleValue;
+        private byte[] byteArrayValue;
+
+        private RowValueFields(String name, ResultSet row) throws SQLException {
+            this.name = name;
+            this.textValue = row.getString("TEXT_");
+            this.textValue2 = row.getString("TEXT2_");
+            long longColumn = row.getLong("LONG_");
+            this.longValue = row.wasNull() ? null : longColumn;
+            double doubleColumn = row.getDouble("DOUBLE_");
+            this.doubleValue = row.wasNull() ? null : doubleColumn;
+            this.byteArrayValue = row.getBytes("BYTES_");
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getTextValue() {
+            return textValue;
+        }
+
+        @Override
+        public void setTextValue(String textValue) {
+            this.textValue = textValue;
+        }
+
+        @Override
+        public String getTextValue2() {
+            return textValue2;
+        }
+
+        @Override
+        public void setTextValue2(String textValue2) {
+            this.textValue2 = textValue2;
+        }
+
+        @Override
+        public Long getLongValue() {
+            return longValue;
+        }
+
+        @Override
+        public void setLongValue(Long longValue) {
+            this.longValue = longValue;
+        }
+
+        @Override
+        public Double getDoubleValue() {
+            return doubleValue;
+        }
+
+        @Override
+        public void setDoubleValue(Double doubleValue) {
+            this.doubleValue = doubleValue;
+        }
+
+        @Override
+        public byte[] getByteArrayValue() {
+            return byteArrayValue;
+        }
+
+        @Override
+        public void setByteArrayValue(byte[] bytes) {
+            this.byteArrayValue = bytes;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.workflowdemo.engine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.camunda.bpm.engine.ManagementService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the job executor's thread pool and its backlog of due jobs, which is where
+ * routing work lands once user tasks run with async continuations.
+ */
+@Component
+public class JobExecutorMetrics implements MeterBinder {
+
+    private final TaskExecutor taskExecutor;
+    private final ManagementService managementService;
+
+    public JobExecutorMetrics(@Qualifier("camundaTaskExecutor") ObjectProvider<TaskExecutor> taskExecutor,
+                              ManagementService managementService) {
+        this.taskExecutor = taskExecutor.getIfAvailable();
+        this.managementService = managementService;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (taskExecutor instanceof ThreadPoolTaskExecutor pool) {
+            Gauge.builder("workflow.jobexecutor.threads.active", pool, ThreadPoolTaskExecutor::getActiveCount)
+                    .register(registry);
+            Gauge.builder("workflow.jobexecutor.threads.size", pool, ThreadPoolTaskExecutor::getPoolSize)
+                    .register(registry);
+            Gauge.builder("workflow.jobexecutor.queue.size", pool,
+                            executor -> executor.getThreadPoolExecutor().getQueue().size())
+                    .register(registry);
+        }
+        Gauge.builder("workflow.jobexecutor.jobs.executable", managementService,
+                        service -> service.createJobQuery().executable().count())
+                .register(registry);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.workflowdemo.engine;
+
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.variable.serializer.TypedValueSerializer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class PayloadSerializerPlugin extends AbstractProcessEnginePlugin {
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        List<TypedValueSerializer> serializers = configuration.getCustomPreVariableSerializers() != null
+                ? new ArrayList<>(configuration.getCustomPreVariableSerializers())
+                : new ArrayList<>();
+        serializers.add(new PayloadValueSerializer());
+        configuration.setCustomPreVariableSerializers(serializers);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.workflowdemo.engine;
+
+import com.example.workflowdemo.payload.PayloadCodec;
+import com.example.workflowdemo.payload.WorkflowPayload;
+import org.camunda.bpm.engine.impl.variable.serializer.AbstractObjectValueSerializer;
+import org.camunda.bpm.engine.variable.value.ObjectValue;
+
+/**
+ * Stores {@link WorkflowPayload} variables as UTF-8 JSON instead of Java serialization.
+ */
+public class PayloadValueSerializer extends AbstractObjectValueSerializer {
+
+    public static final String NAME = "workflow-payload";
+    public static final String DATA_FORMAT = "application/x-workflow-payload+json";
+
+    public PayloadValueSerializer() {
+        super(DATA_FORMAT);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isMutableValue(ObjectValue typedValue) {
+        return false;
+    }
+
+    @Override
+    protected String getTypeNameForDeserialized(Object deserializedObject) {
+        return WorkflowPayload.class.getName();
+    }
+
+    @Override
+    protected byte[] serializeToByteArray(Object deserializedObject) throws Exception {
+        return PayloadCodec.encode((WorkflowPayload) deserializedObject);
+    }
+
+    @Override
+    protected Object deserializeFromByteArray(byte[] object, String objectTypeName) throws Exception {
+        return PayloadCodec.decode(object);
+    }
+
+    @Override
+    protected boolean isSerializationTextBased() {
+        return true;
+    }
+
+    @Override
+    protected boolean canSerializeValue(Object value) {
+        return value instanceof WorkflowPayload;
+    }
+}
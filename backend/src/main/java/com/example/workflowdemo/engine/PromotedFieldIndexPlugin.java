@@ -0,0 +1,85 @@
+package com.example.workflowdemo.engine;
+
+import com.example.workflowdemo.payload.PromotedFields;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Runs {@code db/promoted-fields-<database type>.sql} once the engine schema exists and one of the
+ * indexes it creates is still missing. {@code ${variableTable}} in the script is replaced with the
+ * variable table name, including the configured table prefix.
+ */
+@Component
+public class PromotedFieldIndexPlugin extends AbstractProcessEnginePlugin {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PromotedFieldIndexPlugin.class);
+    private static final List<String> INDEX_NAMES = List.of("WORKFLOW_IDX_VAR_PROCINST_NAME",
+            "WORKFLOW_IDX_VAR_NAME_TEXT", "WORKFLOW_IDX_VAR_NAME_LONG", "WORKFLOW_IDX_VAR_NAME_DOUBLE");
+    private static final String TABLE_PLACEHOLDER = "${variableTable}";
+
+    private final PromotedFields promotedFields;
+
+    public PromotedFieldIndexPlugin(PromotedFields promotedFields) {
+        this.promotedFields = promotedFields;
+    }
+
+    @Override
+    public void postProcessEngineBuild(ProcessEngine processEngine) {
+        if (promotedFields.all().isEmpty()) {
+            return;
+        }
+        ProcessEngineConfigurationImpl configuration =
+                (ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration();
+        ClassPathResource script = new ClassPathResource("db/promoted-fields-" + configuration.getDatabaseType() + ".sql");
+        if (!script.exists()) {
+            LOGGER.warn("No promoted field index script for database type {}; inbox filters will not be indexed",
+                    configuration.getDatabaseType());
+            return;
+        }
+        String variableTable = processEngine.getManagementService().getTableName(VariableInstanceEntity.class);
+        try (Connection connection = configuration.getDataSource().getConnection()) {
+            if (!indexesExist(connection.getMetaData(), variableTable)) {
+                String sql = script.getContentAsString(StandardCharsets.UTF_8).replace(TABLE_PLACEHOLDER, variableTable);
+                new ResourceDatabasePopulator(new ByteArrayResource(sql.getBytes(StandardCharsets.UTF_8)))
+                        .populate(connection);
+                LOGGER.info("Created promoted field indexes on {}", variableTable);
+            }
+        } catch (SQLException | IOException ex) {
+            throw new ProcessEngineException("Failed to create promoted field indexes on " + variableTable, ex);
+        }
+    }
+
+    private boolean indexesExist(DatabaseMetaData metaData, String variableTable) throws SQLException {
+        Set<String> found = new HashSet<>();
+        for (String table : new String[]{variableTable, variableTable.toLowerCase()}) {
+            try (ResultSet indexes = metaData.getIndexInfo(null, null, table, false, true)) {
+                while (indexes.next()) {
+                    String name = indexes.getString("INDEX_NAME");
+                    if (name != null) {
+                        found.add(name.toUpperCase());
+                    }
+                }
+            }
+        }
+        return found.containsAll(INDEX_NAMES);
+    }
+}
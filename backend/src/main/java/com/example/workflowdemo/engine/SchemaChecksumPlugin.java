@@ -0,0 +1,74 @@
+package com.example.workflowdemo.engine;
+
+import com.example.workflowdemo.config.StartupProperties;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.util.ProductPropertiesUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Skips the engine's schema update while the engine version, history level and table prefix
+ * match the checksum stored after the last update.
+ */
+@Component
+public class SchemaChecksumPlugin extends AbstractProcessEnginePlugin {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SchemaChecksumPlugin.class);
+    private static final String STAMP_NAME = "engine-schema";
+
+    private final StartupStamps stamps;
+    private final StartupProperties properties;
+    private String checksum;
+    private boolean unchanged;
+
+    public SchemaChecksumPlugin(JdbcTemplate jdbcTemplate, StartupProperties properties) {
+        this.stamps = new StartupStamps(jdbcTemplate);
+        this.properties = properties;
+    }
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        if (!properties.schemaChecksum()) {
+            return;
+        }
+        checksum = checksum(ProductPropertiesUtil.getProductVersion(), configuration.getHistory(),
+                configuration.getDatabaseTablePrefix());
+        unchanged = stamps.matches(STAMP_NAME, checksum);
+        if (unchanged) {
+            LOGGER.info("Engine schema checksum unchanged, skipping schema update");
+            configuration.setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_FALSE);
+        }
+    }
+
+    @Override
+    public void postProcessEngineBuild(ProcessEngine processEngine) {
+        if (checksum == null || unchanged) {
+            return;
+        }
+        stamps.store(STAMP_NAME, checksum);
+        unchanged = true;
+    }
+
+    static String checksum(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.workflowdemo.engine;
+
+import org.camunda.bpm.engine.history.UserOperationLogEntry;
+import org.camunda.bpm.engine.impl.cfg.CommandChecker;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyChange;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.task.Task;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Starts the latest version of a process and returns the first task it created from the command's
+ * entity cache. The version is resolved on every call, so a new deployment is picked up at once.
+ */
+public class StartProcessCmd implements Command<StartProcessCmd.Started> {
+
+    private final String processDefinitionKey;
+    private final Map<String, Object> variables;
+
+    public StartProcessCmd(String processDefinitionKey, Map<String, Object> variables) {
+        this.processDefinitionKey = processDefinitionKey;
+        this.variables = variables;
+    }
+
+    @Override
+    public Started execute(CommandContext commandContext) {
+        ProcessDefinitionEntity definition = commandContext.getProcessEngineConfiguration().getDeploymentCache()
+                .findDeployedLatestProcessDefinitionByKey(processDefinitionKey);
+        for (CommandChecker checker : commandContext.getProcessEngineConfiguration().getCommandCheckers()) {
+            checker.checkCreateProcessInstance(definition);
+        }
+
+        ExecutionEntity instance = definition.createProcessInstance();
+        instance.start(variables);
+        commandContext.getOperationLogManager().logProcessInstanceOperation(UserOperationLogEntry.OPERATION_TYPE_CREATE,
+                instance.getId(), definition.getId(), definition.getKey(),
+                Collections.singletonList(PropertyChange.EMPTY_CHANGE));
+
+        Task firstTask = commandContext.getDbEntityManager().getCachedEntitiesByType(TaskEntity.class).stream()
+                .filter(task -> instance.getId().equals(task.getProcessInstanceId()))
+                .findFirst()
+                .orElse(null);
+        return new Started(definition.getId(), instance.getId(), firstTask);
+    }
+
+    public record Started(String processDefinitionId, String processInstanceId, Task firstTask) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.workflowdemo.engine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Checksums kept in {@code workflow_startup_stamp}. When the table is missing or unreadable nothing
+ * matches, so startup falls back to the regular schema update and deployment.
+ */
+final class StartupStamps {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StartupStamps.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    StartupStamps(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    boolean matches(String name, String checksum) {
+        try {
+            return jdbcTemplate.queryForList("SELECT checksum FROM workflow_startup_stamp WHERE name = ?",
+                    String.class, name).contains(checksum);
+        } catch (DataAccessException ex) {
+            LOGGER.warn("Cannot read startup stamp '{}', running the full startup step", name, ex);
+            return false;
+        }
+    }
+
+    void store(String name, String checksum) {
+        Timestamp now = Timestamp.from(Instant.now());
+        try {
+            if (jdbcTemplate.update("UPDATE workflow_startup_stamp SET checksum = ?, updated_at = ? WHERE name = ?",
+                    checksum, now, name) == 0) {
+                jdbcTemplate.update("INSERT INTO workflow_startup_stamp (name, checksum, updated_at) VALUES (?, ?, ?)",
+                        name, checksum, now);
+            }
+        } catch (DataAccessException ex) {
+            LOGGER.warn("Cannot store startup stamp '{}'", name, ex);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.workflowdemo.engine;
+
+import com.example.workflowdemo.projection.ProcessStatusProjector;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Feeds the engine's history events to the status projection alongside the default database handler.
+ */
+@Component
+public class StatusProjectionPlugin extends AbstractProcessEnginePlugin {
+
+    private final ProcessStatusProjector projector;
+
+    public StatusProjectionPlugin(ProcessStatusProjector projector) {
+        this.projector = projector;
+    }
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        List<HistoryEventHandler> handlers = configuration.getCustomHistoryEventHandlers() != null
+                ? new ArrayList<>(configuration.getCustomHistoryEventHandlers())
+                : new ArrayList<>();
+        handlers.add(new HistoryEventHandler() {
+            @Override
+            public void handleEvent(HistoryEvent historyEvent) {
+                projector.onHistoryEvent(historyEvent);
+            }
+
+            @Override
+            public void handleEvents(List<HistoryEvent> historyEvents) {
+                historyEvents.forEach(projector::onHistoryEvent);
+            }
+        });
+        configuration.setCustomHistoryEventHandlers(handlers);
+    }
+}
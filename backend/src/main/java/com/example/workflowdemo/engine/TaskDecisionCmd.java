@@ -0,0 +1,94 @@
+package com.example.workflowdemo.engine;
+
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.impl.TaskQueryImpl;
+import org.camunda.bpm.engine.impl.cmd.AddCommentCmd;
+import org.camunda.bpm.engine.impl.cmd.CompleteTaskCmd;
+import org.camunda.bpm.engine.impl.identity.Authentication;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Validates, comments on and completes one or more tasks inside a single command context.
+ */
+public class TaskDecisionCmd implements Command<List<TaskDecisionCmd.Outcome>> {
+
+    private final List<Decision> decisions;
+
+    public TaskDecisionCmd(List<Decision> decisions) {
+        this.decisions = decisions;
+    }
+
+    @Override
+    public List<Outcome> execute(CommandContext commandContext) {
+        if (decisions.size() > 1) {
+            // warms the entity cache so the per-task lookups below do not hit the database
+            new TaskQueryImpl()
+                    .taskIdIn(decisions.stream().map(Decision::taskId).toArray(String[]::new))
+                    .executeList(commandContext, null);
+        }
+
+        List<Outcome> outcomes = new ArrayList<>(decisions.size());
+        for (Decision decision : decisions) {
+            TaskEntity task = commandContext.getTaskManager().findTaskById(decision.taskId());
+            if (task == null) {
+                outcomes.add(Outcome.failure(decision.taskId(), "Task not found: " + decision.taskId()));
+                continue;
+            }
+            if (!decision.operator().equals(task.getAssignee())) {
+                outcomes.add(Outcome.failure(decision.taskId(),
+                        "User " + decision.operator() + " is not assigned to task " + decision.taskId()));
+                continue;
+            }
+            String processInstanceId = task.getProcessInstanceId();
+            boolean transitionPending = isAsyncAfter(task);
+            if (StringUtils.hasText(decision.comment())) {
+                addComment(commandContext, decision, processInstanceId);
+            }
+            new CompleteTaskCmd(decision.taskId(), decision.variables()).execute(commandContext);
+            outcomes.add(new Outcome(decision.taskId(), processInstanceId, transitionPending, null));
+        }
+        return outcomes;
+    }
+
+    private boolean isAsyncAfter(TaskEntity task) {
+        ExecutionEntity execution = task.getExecution();
+        return execution != null && execution.getActivity() != null && execution.getActivity().isAsyncAfter();
+    }
+
+    private void addComment(CommandContext commandContext, Decision decision, String processInstanceId) {
+        IdentityService identityService = commandContext.getProcessEngineConfiguration().getIdentityService();
+        Authentication previous = identityService.getCurrentAuthentication();
+        identityService.setAuthenticatedUserId(decision.operator());
+        try {
+            new AddCommentCmd(decision.taskId(), processInstanceId, decision.comment()).execute(commandContext);
+        } finally {
+            if (previous == null) {
+                identityService.clearAuthentication();
+            } else {
+                identityService.setAuthentication(previous);
+            }
+        }
+    }
+
+    public record Decision(String taskId, String operator, Map<String, Object> variables, String comment) {
+    }
+
+    public record Outcome(String taskId, String processInstanceId, boolean transitionPending, String error) {
+
+        static Outcome failure(String taskId, String error) {
+            return new Outcome(taskId, null, false, error);
+        }
+
+        public boolean succeeded() {
+            return error == null;
+        }
+    }
+}
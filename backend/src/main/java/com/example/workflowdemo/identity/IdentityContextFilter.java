@@ -18,13 +18,13 @@ public class IdentityContextFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
+        String userId = request.getHeader(IdentityContextHolder.USER_HEADER);
+        var roles = IdentityContextHolder.parseRoles(request.getHeader(IdentityContextHolder.ROLES_HEADER));
+        IdentityContextHolder.Binding binding = IdentityContextHolder.bind(userId, roles);
         try {
-            String userId = request.getHeader(IdentityContextHolder.USER_HEADER);
-            var roles = IdentityContextHolder.parseRoles(request.getHeader(IdentityContextHolder.ROLES_HEADER));
-            IdentityContextHolder.set(userId, roles);
             filterChain.doFilter(request, response);
         } finally {
-            IdentityContextHolder.clear();
+            binding.restore();
         }
     }
 }
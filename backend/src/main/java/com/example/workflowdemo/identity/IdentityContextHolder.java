@@ -6,6 +6,7 @@ import java.util.Arrays;
 import java.util.LinkedHashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 public final class IdentityContextHolder {
 
@@ -17,16 +18,50 @@ public final class IdentityContextHolder {
     private IdentityContextHolder() {
     }
 
-    public static void set(String userId, Set<String> roles) {
-        if (!StringUtils.hasText(userId) && (roles == null || roles.isEmpty())) {
+    /**
+     * Binds the identity to the current thread until {@link Binding#restore()} puts back
+     * whatever was bound before. Bindings are never inherited by child threads; offloaded
+     * work receives the identity through {@link #wrap(Runnable)} or {@link #wrap(Callable)}.
+     */
+    public static Binding bind(MockIdentity identity) {
+        MockIdentity previous = CONTEXT.get();
+        if (identity == null) {
             CONTEXT.remove();
-            return;
+        } else {
+            CONTEXT.set(identity);
         }
-        CONTEXT.set(new MockIdentity(StringUtils.hasText(userId) ? userId.trim() : null, roles));
+        return new Binding(previous);
+    }
+
+    public static Binding bind(String userId, Set<String> roles) {
+        if (!StringUtils.hasText(userId) && (roles == null || roles.isEmpty())) {
+            return bind(null);
+        }
+        return bind(new MockIdentity(StringUtils.hasText(userId) ? userId.trim() : null, roles));
+    }
+
+    public static Runnable wrap(Runnable task) {
+        MockIdentity captured = CONTEXT.get();
+        return () -> {
+            Binding binding = bind(captured);
+            try {
+                task.run();
+            } finally {
+                binding.restore();
+            }
+        };
     }
 
-    public static void clear() {
-        CONTEXT.remove();
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        MockIdentity captured = CONTEXT.get();
+        return () -> {
+            Binding binding = bind(captured);
+            try {
+                return task.call();
+            } finally {
+                binding.restore();
+            }
+        };
     }
 
     public static Optional<MockIdentity> get() {
@@ -66,4 +101,21 @@ public final class IdentityContextHolder {
                 .forEach(role -> roles.add(role.toLowerCase()));
         return roles;
     }
+
+    public static final class Binding {
+
+        private final MockIdentity previous;
+
+        private Binding(MockIdentity previous) {
+            this.previous = previous;
+        }
+
+        public void restore() {
+            if (previous == null) {
+                CONTEXT.remove();
+            } else {
+                CONTEXT.set(previous);
+            }
+        }
+    }
 }
@@ -0,0 +1,17 @@
+package com.example.workflowdemo.identity;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carries the caller's identity into work handed to Spring's application task executor,
+ * whether that executor runs on a platform pool or on virtual threads.
+ */
+@Component
+public class IdentityTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return IdentityContextHolder.wrap(runnable);
+    }
+}
@@ -1,6 +1,12 @@
 package com.example.workflowdemo.listener;
 
+import com.example.workflowdemo.cache.ResourceVersions;
+import com.example.workflowdemo.cache.WorkflowReadCache;
+import com.example.workflowdemo.datasource.ReadRouting;
 import com.example.workflowdemo.logging.WorkflowAuditLogger;
+import com.example.workflowdemo.metrics.WorkflowMetrics;
+import com.example.workflowdemo.projection.ProcessStatusProjector;
+import com.example.workflowdemo.push.WorkflowEventBroadcaster;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.DelegateTask;
 import org.camunda.bpm.engine.delegate.ExecutionListener;
@@ -11,18 +17,51 @@ import org.springframework.stereotype.Component;
 public class WorkflowEventListener implements ExecutionListener, TaskListener {
 
     private final WorkflowAuditLogger auditLogger;
+    private final ProcessStatusProjector statusProjector;
+    private final WorkflowReadCache readCache;
+    private final WorkflowEventBroadcaster broadcaster;
+    private final WorkflowMetrics metrics;
+    private final ResourceVersions versions;
+    private final ReadRouting readRouting;
 
-    public WorkflowEventListener(WorkflowAuditLogger auditLogger) {
+    public WorkflowEventListener(WorkflowAuditLogger auditLogger,
+                                 ProcessStatusProjector statusProjector,
+                                 WorkflowReadCache readCache,
+                                 WorkflowEventBroadcaster broadcaster,
+                                 WorkflowMetrics metrics,
+                                 ResourceVersions versions,
+                                 ReadRouting readRouting) {
         this.auditLogger = auditLogger;
+        this.statusProjector = statusProjector;
+        this.readCache = readCache;
+        this.broadcaster = broadcaster;
+        this.metrics = metrics;
+        this.versions = versions;
+        this.readRouting = readRouting;
     }
 
     @Override
     public void notify(DelegateExecution execution) {
         auditLogger.logExecutionEvent(execution.getEventName(), execution);
+        statusProjector.onExecutionEvent(execution);
+        readCache.invalidateProcess(execution.getProcessInstanceId());
+        versions.bumpProcess(execution.getProcessInstanceId());
+        readRouting.processWritten(execution.getProcessInstanceId());
+        broadcaster.onExecutionEvent(execution);
+        metrics.onExecutionEvent(execution);
     }
 
     @Override
     public void notify(DelegateTask delegateTask) {
         auditLogger.logTaskEvent(delegateTask.getEventName(), delegateTask);
+        statusProjector.onTaskEvent(delegateTask);
+        readCache.invalidateProcess(delegateTask.getProcessInstanceId());
+        readCache.invalidateInbox(delegateTask.getAssignee());
+        versions.bumpProcess(delegateTask.getProcessInstanceId());
+        versions.bumpInbox(delegateTask.getAssignee());
+        readRouting.processWritten(delegateTask.getProcessInstanceId());
+        readRouting.userWritten(delegateTask.getAssignee());
+        broadcaster.onTaskEvent(delegateTask);
+        metrics.onTaskEvent(delegateTask);
     }
 }
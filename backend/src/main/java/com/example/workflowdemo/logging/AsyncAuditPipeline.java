@@ -0,0 +1,270 @@
+package com.example.workflowdemo.logging;
+
+import com.example.workflowdemo.config.AuditProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Hands audit events from engine threads to a writer thread through a lock-free ring buffer.
+ */
+@Component
+public class AsyncAuditPipeline implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncAuditPipeline.class);
+    private static final String SPILL_FILE = "audit-spill.ndjson";
+    private static final String REPLAY_SUFFIX = ".replay";
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final List<AuditSink> sinks;
+    private final AuditProperties properties;
+    private final ObjectMapper objectMapper;
+    private final AuditRingBuffer<AuditEvent> buffer;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter spilled;
+    private final Object spillLock = new Object();
+    private final Object inlineLock = new Object();
+
+    private volatile boolean running;
+    private volatile boolean spillPending;
+    private volatile Thread writer;
+
+    public AsyncAuditPipeline(List<AuditSink> sinks,
+                              AuditProperties properties,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry) {
+        this.sinks = sinks;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.buffer = new AuditRingBuffer<>(properties.bufferSize());
+        this.written = Counter.builder("workflow.audit.written").register(meterRegistry);
+        this.dropped = Counter.builder("workflow.audit.dropped").register(meterRegistry);
+        this.spilled = Counter.builder("workflow.audit.spilled").register(meterRegistry);
+        Gauge.builder("workflow.audit.queue.depth", buffer, AuditRingBuffer::size).register(meterRegistry);
+        Gauge.builder("workflow.audit.queue.capacity", buffer, AuditRingBuffer::capacity).register(meterRegistry);
+    }
+
+    public void publish(AuditEvent event) {
+        if (running && buffer.offer(event)) {
+            LockSupport.unpark(writer);
+            return;
+        }
+        if (!running || buffer.isClosed()) {
+            writeInline(event);
+            return;
+        }
+        switch (properties.fullPolicy()) {
+            case BLOCK -> publishBlocking(event);
+            case DROP -> dropped.increment();
+            case SPILL -> spill(event);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (properties.mode() != AuditProperties.Mode.ASYNC) {
+            return;
+        }
+        spillPending = hasSpilledEvents();
+        buffer.open();
+        running = true;
+        Thread thread = new Thread(this::drainLoop, "workflow-audit-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        buffer.close();
+        running = false;
+        Thread thread = writer;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(properties.shutdownTimeout().toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            LOGGER.warn("Audit writer did not finish within {}, {} events left in the buffer",
+                    properties.shutdownTimeout(), buffer.size());
+            return;
+        }
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE + 1000;
+    }
+
+    private void drainLoop() {
+        List<AuditEvent> batch = new ArrayList<>(properties.batchSize());
+        while (running) {
+            if (buffer.drainTo(batch, properties.batchSize()) > 0) {
+                writeToSinks(batch);
+                batch.clear();
+            } else if (spillPending) {
+                replaySpill();
+            } else {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Drains the closed buffer, including slots claimed just before it was closed. Holds the
+     * lock that inline writes take, so events published during shutdown follow the drained ones.
+     */
+    private void flush() {
+        synchronized (inlineLock) {
+            List<AuditEvent> batch = new ArrayList<>(properties.batchSize());
+            while (!buffer.isEmpty()) {
+                if (buffer.drainTo(batch, properties.batchSize()) > 0) {
+                    writeToSinks(batch);
+                    batch.clear();
+                } else {
+                    Thread.onSpinWait();
+                }
+            }
+            if (spillPending) {
+                replaySpill();
+            }
+        }
+    }
+
+    private void writeInline(AuditEvent event) {
+        if (!buffer.isClosed()) {
+            writeToSinks(List.of(event));
+            return;
+        }
+        synchronized (inlineLock) {
+            writeToSinks(List.of(event));
+        }
+    }
+
+    private void publishBlocking(AuditEvent event) {
+        while (!buffer.offer(event)) {
+            if (buffer.isClosed()) {
+                writeInline(event);
+                return;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+        LockSupport.unpark(writer);
+    }
+
+    private void writeToSinks(List<AuditEvent> events) {
+        for (AuditSink sink : sinks) {
+            try {
+                sink.write(events);
+            } catch (RuntimeException ex) {
+                LOGGER.error("Audit sink {} failed to write {} events", sink.getClass().getSimpleName(), events.size(), ex);
+            }
+        }
+        written.increment(events.size());
+    }
+
+    private void spill(AuditEvent event) {
+        synchronized (spillLock) {
+            try {
+                Files.createDirectories(properties.spillDirectory());
+                try (BufferedWriter out = Files.newBufferedWriter(properties.spillDirectory().resolve(SPILL_FILE),
+                        StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    out.write(objectMapper.writeValueAsString(event));
+                    out.newLine();
+                }
+                spilled.increment();
+                spillPending = true;
+            } catch (IOException ex) {
+                dropped.increment();
+                LOGGER.error("Failed to spill audit event {}", event.eventType(), ex);
+            }
+        }
+    }
+
+    private void replaySpill() {
+        List<Path> files;
+        synchronized (spillLock) {
+            spillPending = false;
+            try {
+                Path active = properties.spillDirectory().resolve(SPILL_FILE);
+                if (Files.exists(active)) {
+                    Files.move(active, active.resolveSibling(
+                            String.format("%s.%020d%s", SPILL_FILE, System.currentTimeMillis(), REPLAY_SUFFIX)));
+                }
+                files = listReplayFiles();
+            } catch (IOException ex) {
+                LOGGER.error("Failed to rotate audit spill file", ex);
+                return;
+            }
+        }
+        for (Path file : files) {
+            List<AuditEvent> batch = new ArrayList<>(properties.batchSize());
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    batch.add(objectMapper.readValue(line, AuditEvent.class));
+                    if (batch.size() == properties.batchSize()) {
+                        writeToSinks(batch);
+                        batch.clear();
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    writeToSinks(batch);
+                }
+                Files.delete(file);
+            } catch (IOException ex) {
+                LOGGER.error("Failed to replay audit spill file {}", file, ex);
+            }
+        }
+    }
+
+    private List<Path> listReplayFiles() throws IOException {
+        if (!Files.isDirectory(properties.spillDirectory())) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(properties.spillDirectory())) {
+            return files.filter(path -> path.getFileName().toString().endsWith(REPLAY_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private boolean hasSpilledEvents() {
+        try {
+            return Files.exists(properties.spillDirectory().resolve(SPILL_FILE)) || !listReplayFiles().isEmpty();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
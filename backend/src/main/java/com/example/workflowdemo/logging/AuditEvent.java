@@ -0,0 +1,23 @@
+package com.example.workflowdemo.logging;
+
+public record AuditEvent(
+        Category category,
+        String eventType,
+        String processInstanceId,
+        String executionId,
+        String activityId,
+        String activityName,
+        String taskId,
+        String taskDefinitionKey,
+        String assignee,
+        String operator,
+        String result,
+        long timestamp
+) {
+
+    public enum Category {
+        EXECUTION,
+        TASK,
+        OPERATION
+    }
+}
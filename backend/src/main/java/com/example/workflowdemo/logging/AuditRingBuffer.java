@@ -0,0 +1,109 @@
+package com.example.workflowdemo.logging;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded multi-producer, single-consumer ring buffer. Producers claim slots with a CAS on
+ * the tail and publish through a per-slot sequence number, so neither side takes a lock.
+ * Closing sets the sign bit of the tail, after which no slot can be claimed.
+ */
+final class AuditRingBuffer<E> {
+
+    private static final long CLOSED = Long.MIN_VALUE;
+
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    AuditRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(E element) {
+        while (true) {
+            long position = tail.get();
+            if ((position & CLOSED) != 0) {
+                return false;
+            }
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, element);
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false;
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    int drainTo(List<E> target, int limit) {
+        int drained = 0;
+        long position = head.get();
+        while (drained < limit) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            target.add(slots.get(index));
+            slots.lazySet(index, null);
+            sequences.lazySet(index, position + mask + 1);
+            position++;
+            drained++;
+        }
+        head.lazySet(position);
+        return drained;
+    }
+
+    /**
+     * Rejects further offers. Slots claimed before this call are still published and drained.
+     */
+    void close() {
+        long position;
+        do {
+            position = tail.get();
+        } while ((position & CLOSED) == 0 && !tail.compareAndSet(position, position | CLOSED));
+    }
+
+    void open() {
+        long position;
+        do {
+            position = tail.get();
+        } while ((position & CLOSED) != 0 && !tail.compareAndSet(position, position & ~CLOSED));
+    }
+
+    boolean isClosed() {
+        return (tail.get() & CLOSED) != 0;
+    }
+
+    /**
+     * Whether every claimed slot has been drained; a slot that is claimed but not yet published
+     * still counts.
+     */
+    boolean isEmpty() {
+        return (tail.get() & ~CLOSED) == head.get();
+    }
+
+    int size() {
+        return (int) Math.max(0, (tail.get() & ~CLOSED) - head.get());
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,447 @@
+package com.example.workflowdemo.logging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * One file of the {@link AuditStore}: length-prefixed JSON records plus an {@code .idx} line per record.
+ * Only the segment being written keeps its postings in memory; sealed segments read them from the index.
+ */
+final class AuditSegment {
+
+    static final String LOG_SUFFIX = ".log";
+    static final String INDEX_SUFFIX = ".idx";
+    private static final String PREFIX = "audit-";
+
+    private final int first;
+    private final int last;
+    private final Path log;
+    private final Path index;
+    private Map<Key, Map<String, Postings>> postings;
+
+    private FileChannel channel;
+    private volatile MappedByteBuffer mapped;
+    private long size;
+    private int records;
+    private long firstTimestamp = Long.MAX_VALUE;
+    private long lastTimestamp = Long.MIN_VALUE;
+
+    private AuditSegment(Path directory, int first, int last) {
+        this.first = first;
+        this.last = last;
+        String name = PREFIX + String.format("%06d-%06d", first, last);
+        this.log = directory.resolve(name + LOG_SUFFIX);
+        this.index = directory.resolve(name + INDEX_SUFFIX);
+    }
+
+    static AuditSegment create(Path directory, int number) {
+        AuditSegment segment = new AuditSegment(directory, number, number);
+        segment.postings = new EnumMap<>(Key.class);
+        for (Key key : Key.values()) {
+            segment.postings.put(key, new HashMap<>());
+        }
+        return segment;
+    }
+
+    /**
+     * Parses {@code audit-000001-000003.log}, or returns {@code null} for other files.
+     */
+    static AuditSegment fromLogFile(Path log) {
+        String name = log.getFileName().toString();
+        if (!name.startsWith(PREFIX) || !name.endsWith(LOG_SUFFIX)) {
+            return null;
+        }
+        String[] range = name.substring(PREFIX.length(), name.length() - LOG_SUFFIX.length()).split("-");
+        if (range.length != 2) {
+            return null;
+        }
+        try {
+            return new AuditSegment(log.getParent(), Integer.parseInt(range[0]), Integer.parseInt(range[1]));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Loads the index and scans the log past the last indexed record. A record that was
+     * written but not indexed is indexed again; a torn record at the end is cut off.
+     */
+    void load(ObjectMapper objectMapper) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        long indexedEnd = 0;
+        boolean rewriteIndex = !Files.exists(index);
+        if (!rewriteIndex) {
+            for (String line : Files.readAllLines(index, StandardCharsets.UTF_8)) {
+                Entry entry = Entry.parse(line);
+                if (entry == null) {
+                    rewriteIndex = true;
+                    continue;
+                }
+                entries.add(entry);
+                indexedEnd = Math.max(indexedEnd, entry.offset() + entry.length());
+            }
+        }
+        long fileSize = Files.size(log);
+        if (indexedEnd > fileSize) {
+            entries.clear();
+            indexedEnd = 0;
+            rewriteIndex = true;
+        }
+        size = indexedEnd;
+        if (fileSize > indexedEnd) {
+            try (FileChannel in = FileChannel.open(log, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+                while (size + Integer.BYTES <= fileSize) {
+                    header.clear();
+                    in.read(header, size);
+                    int length = header.flip().getInt();
+                    if (length <= 0 || size + Integer.BYTES + length > fileSize) {
+                        break;
+                    }
+                    ByteBuffer body = ByteBuffer.allocate(length);
+                    in.read(body, size + Integer.BYTES);
+                    AuditEvent event;
+                    try {
+                        event = objectMapper.readValue(body.array(), AuditEvent.class);
+                    } catch (IOException ex) {
+                        break;
+                    }
+                    entries.add(Entry.of(size, Integer.BYTES + length, event));
+                    size += Integer.BYTES + length;
+                    rewriteIndex = true;
+                }
+                if (size < fileSize) {
+                    in.truncate(size);
+                }
+            }
+        }
+        entries.forEach(this::add);
+        if (rewriteIndex) {
+            writeIndex(index, entries);
+        }
+    }
+
+    /**
+     * Appends records to the log and then their lines to the index. Callers roll over
+     * before a segment outgrows {@code Integer.MAX_VALUE} bytes.
+     */
+    void append(List<AuditEvent> events, ObjectMapper objectMapper) throws IOException {
+        if (channel == null) {
+            channel = FileChannel.open(log, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        }
+        StringBuilder lines = new StringBuilder();
+        long offset = size;
+        for (AuditEvent event : events) {
+            byte[] json = objectMapper.writeValueAsBytes(event);
+            ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + json.length).putInt(json.length).put(json).flip();
+            while (record.hasRemaining()) {
+                channel.write(record, offset + record.position());
+            }
+            Entry entry = Entry.of(offset, Integer.BYTES + json.length, event);
+            add(entry);
+            entry.appendTo(lines);
+            offset += entry.length();
+        }
+        size = offset;
+        Files.writeString(index, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Whether records can be appended; segments opened from disk or produced by a merge are sealed.
+     */
+    boolean writable() {
+        return postings != null;
+    }
+
+    /**
+     * Forces the log to disk, releases the write channel and drops the in-memory postings; the
+     * segment is read-only after this.
+     */
+    void seal() throws IOException {
+        postings = null;
+        if (channel != null) {
+            channel.force(true);
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Offsets of the records with the given key, in the order they were written. A sealed segment
+     * scans its index file.
+     */
+    int[] offsets(Key key, String value) throws IOException {
+        Map<Key, Map<String, Postings>> current = postings;
+        Postings found;
+        if (current != null) {
+            found = current.get(key).get(value);
+        } else {
+            found = new Postings();
+            try (BufferedReader reader = Files.newBufferedReader(index, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    Entry entry = Entry.parse(line);
+                    if (entry != null && value.equals(entry.value(key))) {
+                        found.add(Math.toIntExact(entry.offset()));
+                    }
+                }
+            }
+        }
+        return found != null ? Arrays.copyOf(found.offsets, found.size) : new int[0];
+    }
+
+    /**
+     * Reads the record at {@code offset} through a read-only memory mapping of the log,
+     * remapped when the segment has grown since the last read.
+     */
+    AuditEvent read(int offset, ObjectMapper objectMapper) throws IOException {
+        MappedByteBuffer buffer = mapped;
+        if (buffer == null || buffer.capacity() < size) {
+            try (FileChannel in = FileChannel.open(log, StandardOpenOption.READ)) {
+                buffer = in.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            mapped = buffer;
+        }
+        int length = buffer.getInt(offset);
+        byte[] json = new byte[length];
+        buffer.get(offset + Integer.BYTES, json);
+        return objectMapper.readValue(json, AuditEvent.class);
+    }
+
+    /**
+     * Copies the records at or after {@code cutoff} of {@code sources} into a new segment that
+     * covers all of their numbers. The merged log and index are written under temporary names
+     * and moved into place log first; a merged log without an index is re-indexed on load.
+     */
+    static AuditSegment merge(Path directory, List<AuditSegment> sources, long cutoff,
+                              ObjectMapper objectMapper) throws IOException {
+        AuditSegment merged = new AuditSegment(directory, sources.get(0).first, sources.get(sources.size() - 1).last);
+        List<Entry> entries = new ArrayList<>();
+        Path tmpLog = merged.log.resolveSibling(merged.log.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(tmpLog, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (AuditSegment source : sources) {
+                try (FileChannel in = FileChannel.open(source.log, StandardOpenOption.READ)) {
+                    for (Entry entry : readIndex(source.index)) {
+                        if (entry.timestamp() < cutoff) {
+                            continue;
+                        }
+                        ByteBuffer record = ByteBuffer.allocate(entry.length());
+                        in.read(record, entry.offset());
+                        record.flip();
+                        Entry moved = new Entry(merged.size, entry.length(), entry.timestamp(),
+                                entry.processInstanceId(), entry.taskId(), entry.operator());
+                        while (record.hasRemaining()) {
+                            out.write(record, merged.size + record.position());
+                        }
+                        entries.add(moved);
+                        merged.add(moved);
+                        merged.size += entry.length();
+                    }
+                }
+            }
+            out.force(true);
+        }
+        Path tmpIndex = merged.index.resolveSibling(merged.index.getFileName() + ".tmp");
+        writeIndex(tmpIndex, entries);
+        Files.move(tmpLog, merged.log, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        Files.move(tmpIndex, merged.index, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return merged;
+    }
+
+    void delete() throws IOException {
+        seal();
+        mapped = null;
+        Files.deleteIfExists(index);
+        Files.deleteIfExists(log);
+    }
+
+    boolean covers(AuditSegment other) {
+        return first <= other.first && other.last <= last;
+    }
+
+    boolean sameRange(AuditSegment other) {
+        return first == other.first && last == other.last;
+    }
+
+    int first() {
+        return first;
+    }
+
+    int last() {
+        return last;
+    }
+
+    long size() {
+        return size;
+    }
+
+    int records() {
+        return records;
+    }
+
+    long firstTimestamp() {
+        return firstTimestamp;
+    }
+
+    long lastTimestamp() {
+        return lastTimestamp;
+    }
+
+    private static List<Entry> readIndex(Path index) throws IOException {
+        return Files.readAllLines(index, StandardCharsets.UTF_8).stream()
+                .map(Entry::parse)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private static void writeIndex(Path target, List<Entry> entries) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        entries.forEach(entry -> entry.appendTo(lines));
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(true);
+        }
+    }
+
+    private void add(Entry entry) {
+        if (postings != null) {
+            int offset = Math.toIntExact(entry.offset());
+            for (Key key : Key.values()) {
+                post(postings.get(key), entry.value(key), offset);
+            }
+        }
+        records++;
+        firstTimestamp = Math.min(firstTimestamp, entry.timestamp());
+        lastTimestamp = Math.max(lastTimestamp, entry.timestamp());
+    }
+
+    private static void post(Map<String, Postings> postings, String value, int offset) {
+        if (value != null) {
+            postings.computeIfAbsent(value, key -> new Postings()).add(offset);
+        }
+    }
+
+    enum Key {
+        PROCESS_INSTANCE,
+        TASK,
+        OPERATOR
+    }
+
+    private static final class Postings {
+
+        private int[] offsets = new int[4];
+        private int size;
+
+        void add(int offset) {
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, size * 2);
+            }
+            offsets[size++] = offset;
+        }
+    }
+
+    private record Entry(long offset, int length, long timestamp, String processInstanceId, String taskId,
+                         String operator) {
+
+        static Entry of(long offset, int length, AuditEvent event) {
+            return new Entry(offset, length, event.timestamp(), event.processInstanceId(), event.taskId(),
+                    event.operator());
+        }
+
+        String value(Key key) {
+            return switch (key) {
+                case PROCESS_INSTANCE -> processInstanceId;
+                case TASK -> taskId;
+                case OPERATOR -> operator;
+            };
+        }
+
+        static Entry parse(String line) {
+            String[] parts = line.split("\t", -1);
+            if (parts.length != 6) {
+                return null;
+            }
+            try {
+                return new Entry(Long.parseLong(parts[0]), Integer.parseInt(parts[1]), Long.parseLong(parts[2]),
+                        unescape(parts[3]), unescape(parts[4]), unescape(parts[5]));
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+        }
+
+        void appendTo(StringBuilder lines) {
+            lines.append(offset).append('\t').append(length).append('\t').append(timestamp).append('\t');
+            escape(processInstanceId, lines);
+            escape(taskId, lines.append('\t'));
+            escape(operator, lines.append('\t'));
+            lines.append('\n');
+        }
+
+        /**
+         * Writes {@code null} as an empty field and escapes backslashes, tabs and line breaks so
+         * that every entry stays on one line with six fields.
+         */
+        private static void escape(String value, StringBuilder out) {
+            if (value == null) {
+                return;
+            }
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '\\' -> out.append("\\\\");
+                    case '\t' -> out.append("\\t");
+                    case '\n' -> out.append("\\n");
+                    case '\r' -> out.append("\\r");
+                    default -> out.append(c);
+                }
+            }
+        }
+
+        private static String unescape(String field) {
+            if (field.isEmpty()) {
+                return null;
+            }
+            if (field.indexOf('\\') < 0) {
+                return field;
+            }
+            StringBuilder value = new StringBuilder(field.length());
+            for (int i = 0; i < field.length(); i++) {
+                char c = field.charAt(i);
+                if (c != '\\' || i + 1 == field.length()) {
+                    value.append(c);
+                    continue;
+                }
+                char escaped = field.charAt(++i);
+                value.append(switch (escaped) {
+                    case 't' -> '\t';
+                    case 'n' -> '\n';
+                    case 'r' -> '\r';
+                    default -> escaped;
+                });
+            }
+            return value.toString();
+        }
+    }
+}
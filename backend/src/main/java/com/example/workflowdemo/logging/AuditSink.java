@@ -0,0 +1,8 @@
+package com.example.workflowdemo.logging;
+
+import java.util.List;
+
+public interface AuditSink {
+
+    void write(List<AuditEvent> events);
+}
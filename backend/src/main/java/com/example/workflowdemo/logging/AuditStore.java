@@ -0,0 +1,280 @@
+package com.example.workflowdemo.logging;
+
+import com.example.workflowdemo.config.AuditProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Segmented, append-only audit trail on local disk, indexed by process instance, task and operator.
+ */
+@Component
+public class AuditStore implements AuditSink, SchedulingConfigurer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuditStore.class);
+
+    private final AuditProperties.Store properties;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<AuditSegment> segments = new ArrayList<>();
+    private final Cache<PostingsKey, int[]> postings;
+
+    @Autowired
+    public AuditStore(AuditProperties properties, ObjectMapper objectMapper) {
+        this(properties.store(), objectMapper, Clock.systemUTC());
+    }
+
+    AuditStore(AuditProperties.Store properties, ObjectMapper objectMapper, Clock clock) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.postings = Caffeine.newBuilder()
+                .maximumSize(properties.postingsCacheSize())
+                .build();
+        if (properties.enabled()) {
+            try {
+                open();
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Failed to open audit store in " + properties.directory(), ex);
+            }
+        }
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (properties.enabled()) {
+            registrar.addFixedDelayTask(this::maintain, properties.maintenanceInterval());
+        }
+    }
+
+    @Override
+    public void write(List<AuditEvent> events) {
+        if (!properties.enabled() || events.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            active().append(events, objectMapper);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to append to the audit store", ex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} events in the order they were written that match every
+     * given criterion. At least one of them is required.
+     */
+    public List<AuditEvent> find(String processInstanceId, String taskId, String operator, int limit) {
+        if (processInstanceId == null && taskId == null && operator == null) {
+            throw new IllegalArgumentException("One of processInstanceId, taskId or operator is required");
+        }
+        if (limit < 1 || limit > properties.maxResults()) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + properties.maxResults());
+        }
+        AuditSegment.Key key = processInstanceId != null ? AuditSegment.Key.PROCESS_INSTANCE
+                : taskId != null ? AuditSegment.Key.TASK
+                : AuditSegment.Key.OPERATOR;
+        String value = processInstanceId != null ? processInstanceId : taskId != null ? taskId : operator;
+
+        List<AuditEvent> events = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (AuditSegment segment : segments) {
+                for (int offset : offsets(segment, key, value)) {
+                    AuditEvent event = segment.read(offset, objectMapper);
+                    if (matches(event, processInstanceId, taskId, operator)) {
+                        events.add(event);
+                        if (events.size() == limit) {
+                            return events;
+                        }
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read from the audit store", ex);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return events;
+    }
+
+    /**
+     * Seals the active segment when it is too old, deletes expired segments and merges runs
+     * of sealed segments that together stay below {@code segment-max-size}.
+     */
+    public void maintain() {
+        if (!properties.enabled()) {
+            return;
+        }
+        long now = clock.millis();
+        long cutoff = now - properties.retention().toMillis();
+        lock.writeLock().lock();
+        try {
+            if (!segments.isEmpty()) {
+                AuditSegment last = segments.get(segments.size() - 1);
+                if (last.records() > 0 && now - last.firstTimestamp() >= properties.segmentMaxAge().toMillis()) {
+                    roll();
+                }
+            }
+            for (AuditSegment segment : List.copyOf(sealed())) {
+                if (segment.lastTimestamp() < cutoff) {
+                    segment.delete();
+                    segments.remove(segment);
+                }
+            }
+            compact(cutoff);
+        } catch (IOException ex) {
+            LOGGER.error("Audit store maintenance failed", ex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            for (AuditSegment segment : segments) {
+                segment.seal();
+            }
+        } catch (IOException ex) {
+            LOGGER.warn("Failed to close the audit store", ex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void compact(long cutoff) throws IOException {
+        long maxSize = properties.segmentMaxSize().toBytes();
+        List<AuditSegment> sealed = List.copyOf(sealed());
+        int start = 0;
+        while (start < sealed.size()) {
+            int end = start + 1;
+            long size = sealed.get(start).size();
+            while (end < sealed.size() && size + sealed.get(end).size() <= maxSize) {
+                size += sealed.get(end).size();
+                end++;
+            }
+            List<AuditSegment> run = sealed.subList(start, end);
+            if (run.size() > 1 || run.get(0).firstTimestamp() < cutoff) {
+                AuditSegment merged = AuditSegment.merge(properties.directory(), run, cutoff, objectMapper);
+                segments.add(segments.indexOf(run.get(0)), merged);
+                for (AuditSegment source : run) {
+                    if (!source.sameRange(merged)) {
+                        source.delete();
+                    }
+                    segments.remove(source);
+                }
+            }
+            start = end;
+        }
+    }
+
+    /**
+     * Sealed segments never change, so their postings are cached; a merge replaces the segment
+     * object and the old entries age out.
+     */
+    private int[] offsets(AuditSegment segment, AuditSegment.Key key, String value) throws IOException {
+        if (segment.writable()) {
+            return segment.offsets(key, value);
+        }
+        try {
+            return postings.get(new PostingsKey(segment, key, value), postingsKey -> {
+                try {
+                    return segment.offsets(key, value);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private List<AuditSegment> sealed() {
+        return segments.isEmpty() ? List.of() : segments.subList(0, segments.size() - 1);
+    }
+
+    private AuditSegment active() throws IOException {
+        if (segments.isEmpty()) {
+            Files.createDirectories(properties.directory());
+            segments.add(AuditSegment.create(properties.directory(), 1));
+        } else {
+            AuditSegment last = segments.get(segments.size() - 1);
+            if (!last.writable() || last.size() >= properties.segmentMaxSize().toBytes()) {
+                roll();
+            }
+        }
+        return segments.get(segments.size() - 1);
+    }
+
+    private void roll() throws IOException {
+        AuditSegment last = segments.get(segments.size() - 1);
+        last.seal();
+        segments.add(AuditSegment.create(properties.directory(), last.last() + 1));
+    }
+
+    private void open() throws IOException {
+        Path directory = properties.directory();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<AuditSegment> found;
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> paths = files.toList();
+            for (Path path : paths) {
+                if (path.getFileName().toString().endsWith(".tmp")) {
+                    Files.delete(path);
+                }
+            }
+            found = paths.stream()
+                    .map(AuditSegment::fromLogFile)
+                    .filter(Objects::nonNull)
+                    .sorted(Comparator.comparingInt(AuditSegment::first)
+                            .thenComparing(Comparator.comparingInt(AuditSegment::last).reversed()))
+                    .toList();
+        }
+        for (AuditSegment segment : found) {
+            if (!segments.isEmpty() && segments.get(segments.size() - 1).covers(segment)) {
+                // left behind by a compaction that stopped before deleting its sources
+                segment.delete();
+                continue;
+            }
+            segment.load(objectMapper);
+            segments.add(segment);
+        }
+        LOGGER.info("Opened audit store in {} with {} segments", directory, segments.size());
+    }
+
+    private boolean matches(AuditEvent event, String processInstanceId, String taskId, String operator) {
+        return (processInstanceId == null || processInstanceId.equals(event.processInstanceId()))
+                && (taskId == null || taskId.equals(event.taskId()))
+                && (operator == null || operator.equals(event.operator()));
+    }
+
+    private record PostingsKey(AuditSegment segment, AuditSegment.Key key, String value) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.workflowdemo.logging;
+
+import net.logstash.logback.argument.StructuredArguments;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+@Component
+public class LogbackAuditSink implements AuditSink {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger("workflow-audit");
+
+    @Override
+    public void write(List<AuditEvent> events) {
+        for (AuditEvent event : events) {
+            switch (event.category()) {
+                case EXECUTION -> LOGGER.info("Process event {}",
+                        event.eventType(),
+                        StructuredArguments.keyValue("eventType", event.eventType()),
+                        StructuredArguments.keyValue("processInstanceId", event.processInstanceId()),
+                        StructuredArguments.keyValue("executionId", event.executionId()),
+                        StructuredArguments.keyValue("activityId", event.activityId()),
+                        StructuredArguments.keyValue("activityName", event.activityName()),
+                        StructuredArguments.keyValue("timestamp", Instant.ofEpochMilli(event.timestamp()).toString()));
+                case TASK -> LOGGER.info("Task event {}",
+                        event.eventType(),
+                        StructuredArguments.keyValue("eventType", event.eventType()),
+                        StructuredArguments.keyValue("processInstanceId", event.processInstanceId()),
+                        StructuredArguments.keyValue("taskId", event.taskId()),
+                        StructuredArguments.keyValue("taskDefinitionKey", event.taskDefinitionKey()),
+                        StructuredArguments.keyValue("assignee", event.assignee()),
+                        StructuredArguments.keyValue("timestamp", Instant.ofEpochMilli(event.timestamp()).toString()));
+                case OPERATION -> LOGGER.info("Operation {}",
+                        event.eventType(),
+                        StructuredArguments.keyValue("eventType", event.eventType()),
+                        StructuredArguments.keyValue("processInstanceId", event.processInstanceId()),
+                        StructuredArguments.keyValue("taskId", event.taskId()),
+                        StructuredArguments.keyValue("operator", event.operator()),
+                        StructuredArguments.keyValue("result", event.result()),
+                        StructuredArguments.keyValue("timestamp", Instant.ofEpochMilli(event.timestamp()).toString()));
+            }
+        }
+    }
+}
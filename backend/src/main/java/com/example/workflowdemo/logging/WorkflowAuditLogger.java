@@ -1,49 +1,67 @@
 package com.example.workflowdemo.logging;
 
-import net.logstash.logback.argument.StructuredArguments;
+import com.example.workflowdemo.metrics.WorkflowMetrics;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.DelegateTask;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import java.time.Instant;
-
 @Component
 public class WorkflowAuditLogger {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger("workflow-audit");
+    private final AsyncAuditPipeline pipeline;
+    private final WorkflowMetrics metrics;
+
+    public WorkflowAuditLogger(AsyncAuditPipeline pipeline, WorkflowMetrics metrics) {
+        this.pipeline = pipeline;
+        this.metrics = metrics;
+    }
 
     public void logExecutionEvent(String eventType, DelegateExecution execution) {
-        LOGGER.info("Process event {}",
+        pipeline.publish(new AuditEvent(
+                AuditEvent.Category.EXECUTION,
                 eventType,
-                StructuredArguments.keyValue("eventType", eventType),
-                StructuredArguments.keyValue("processInstanceId", execution.getProcessInstanceId()),
-                StructuredArguments.keyValue("executionId", execution.getId()),
-                StructuredArguments.keyValue("activityId", execution.getCurrentActivityId()),
-                StructuredArguments.keyValue("activityName", execution.getCurrentActivityName()),
-                StructuredArguments.keyValue("timestamp", Instant.now().toString()));
+                execution.getProcessInstanceId(),
+                execution.getId(),
+                execution.getCurrentActivityId(),
+                execution.getCurrentActivityName(),
+                null,
+                null,
+                null,
+                null,
+                null,
+                System.currentTimeMillis()));
     }
 
     public void logTaskEvent(String eventType, DelegateTask task) {
-        LOGGER.info("Task event {}",
+        pipeline.publish(new AuditEvent(
+                AuditEvent.Category.TASK,
                 eventType,
-                StructuredArguments.keyValue("eventType", eventType),
-                StructuredArguments.keyValue("processInstanceId", task.getProcessInstanceId()),
-                StructuredArguments.keyValue("taskId", task.getId()),
-                StructuredArguments.keyValue("taskDefinitionKey", task.getTaskDefinitionKey()),
-                StructuredArguments.keyValue("assignee", task.getAssignee()),
-                StructuredArguments.keyValue("timestamp", Instant.now().toString()));
+                task.getProcessInstanceId(),
+                null,
+                null,
+                null,
+                task.getId(),
+                task.getTaskDefinitionKey(),
+                task.getAssignee(),
+                null,
+                null,
+                System.currentTimeMillis()));
     }
 
     public void logOperation(String eventType, String processInstanceId, String taskId, String operator, String result) {
-        LOGGER.info("Operation {}",
+        metrics.onOperation(eventType, result);
+        pipeline.publish(new AuditEvent(
+                AuditEvent.Category.OPERATION,
                 eventType,
-                StructuredArguments.keyValue("eventType", eventType),
-                StructuredArguments.keyValue("processInstanceId", processInstanceId),
-                StructuredArguments.keyValue("taskId", taskId),
-                StructuredArguments.keyValue("operator", operator),
-                StructuredArguments.keyValue("result", result),
-                StructuredArguments.keyValue("timestamp", Instant.now().toString()));
+                processInstanceId,
+                null,
+                null,
+                null,
+                taskId,
+                null,
+                null,
+                operator,
+                result,
+                System.currentTimeMillis()));
     }
 }
@@ -0,0 +1,111 @@
+package com.example.workflowdemo.metrics;
+
+import com.example.workflowdemo.config.MetricsProperties;
+import com.example.workflowdemo.process.ProcessState;
+import com.example.workflowdemo.process.ProcessVariables;
+import com.example.workflowdemo.support.TransactionCallbacks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.DelegateTask;
+import org.camunda.bpm.engine.delegate.ExecutionListener;
+import org.camunda.bpm.engine.delegate.TaskListener;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.task.Task;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Workflow throughput and latency meters, recorded after the engine transaction commits.
+ */
+@Component
+public class WorkflowMetrics implements SchedulingConfigurer {
+
+    private static final String UNASSIGNED = "_unassigned";
+    private static final String OTHER = "_other";
+
+    private final MeterRegistry registry;
+    private final MetricsProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final String taskTable;
+    private final Counter started;
+    private final MultiGauge openTasks;
+
+    public WorkflowMetrics(MeterRegistry registry,
+                           MetricsProperties properties,
+                           JdbcTemplate jdbcTemplate,
+                           ManagementService managementService) {
+        this.registry = registry;
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskTable = managementService.getTableName(Task.class);
+        this.started = Counter.builder("workflow.process.started").register(registry);
+        this.openTasks = MultiGauge.builder("workflow.tasks.open").register(registry);
+    }
+
+    public void onExecutionEvent(DelegateExecution execution) {
+        if (ExecutionListener.EVENTNAME_START.equals(execution.getEventName())) {
+            TransactionCallbacks.afterCommit(started::increment);
+        } else if (ExecutionListener.EVENTNAME_END.equals(execution.getEventName())) {
+            ProcessState outcome = ProcessState.fromValue(execution.getVariable(ProcessVariables.PROCESS_STATUS));
+            String tag = outcome != null ? outcome.name() : "UNKNOWN";
+            TransactionCallbacks.afterCommit(() -> registry.counter("workflow.process.ended", "outcome", tag).increment());
+        }
+    }
+
+    public void onTaskEvent(DelegateTask task) {
+        String taskDefinitionKey = task.getTaskDefinitionKey();
+        if (TaskListener.EVENTNAME_CREATE.equals(task.getEventName())) {
+            TransactionCallbacks.afterCommit(() ->
+                    registry.counter("workflow.task.created", "taskDefinitionKey", taskDefinitionKey).increment());
+        } else if (TaskListener.EVENTNAME_COMPLETE.equals(task.getEventName()) && task.getCreateTime() != null) {
+            Duration waited = Duration.ofMillis(ClockUtil.getCurrentTime().getTime() - task.getCreateTime().getTime());
+            TransactionCallbacks.afterCommit(() -> Timer.builder("workflow.task.duration")
+                    .description("Time from task creation to completion")
+                    .tag("taskDefinitionKey", taskDefinitionKey)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(waited));
+        }
+    }
+
+    public void onOperation(String eventType, String result) {
+        registry.counter("workflow.operations", "event", eventType, "result", result != null ? result : "NONE").increment();
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(this::refreshOpenTasks, properties.openTaskRefresh());
+    }
+
+    public void refreshOpenTasks() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT ASSIGNEE_ AS ASSIGNEE, COUNT(*) AS OPEN_TASKS FROM "
+                + taskTable + " GROUP BY ASSIGNEE_ ORDER BY OPEN_TASKS DESC");
+        List<MultiGauge.Row<?>> gauges = new ArrayList<>();
+        long other = 0;
+        for (Map<String, Object> row : rows) {
+            long count = ((Number) row.get("OPEN_TASKS")).longValue();
+            if (gauges.size() < properties.maxAssigneeTags()) {
+                Object assignee = row.get("ASSIGNEE");
+                gauges.add(MultiGauge.Row.of(Tags.of("assignee", assignee != null ? assignee.toString() : UNASSIGNED), count));
+            } else {
+                other += count;
+            }
+        }
+        if (other > 0) {
+            gauges.add(MultiGauge.Row.of(Tags.of("assignee", OTHER), other));
+        }
+        openTasks.register(gauges, true);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.workflowdemo.payload;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+
+public final class PayloadCodec {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectWriter WRITER = MAPPER.writerFor(WorkflowPayload.class);
+    private static final ObjectReader READER = MAPPER.readerFor(WorkflowPayload.class);
+
+    private PayloadCodec() {
+    }
+
+    public static byte[] encode(WorkflowPayload payload) throws JsonProcessingException {
+        return WRITER.writeValueAsBytes(payload);
+    }
+
+    public static WorkflowPayload decode(byte[] bytes) throws IOException {
+        return READER.readValue(bytes);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.workflowdemo.payload;
+
+import com.example.workflowdemo.cache.WorkflowReadCache;
+import com.example.workflowdemo.process.ProcessVariables;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.impl.variable.serializer.JavaObjectSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rewrites Java-serialized {@code payload} variables of running instances into {@link WorkflowPayload}.
+ */
+@Component
+@Endpoint(id = "payloadmigration")
+public class PayloadMigration {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PayloadMigration.class);
+    private static final int PAGE_SIZE = 200;
+
+    private final RuntimeService runtimeService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final WorkflowReadCache readCache;
+    private final String variableTable;
+    private final boolean migrateOnStartup;
+
+    public PayloadMigration(RuntimeService runtimeService,
+                            ManagementService managementService,
+                            JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            WorkflowReadCache readCache,
+                            @Value("${workflow.payload.migrate-on-startup:false}") boolean migrateOnStartup) {
+        this.runtimeService = runtimeService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.readCache = readCache;
+        this.variableTable = managementService.getTableName(VariableInstanceEntity.class);
+        this.migrateOnStartup = migrateOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (migrateOnStartup) {
+            migrate();
+        }
+    }
+
+    @WriteOperation
+    public Map<String, Object> migrate() {
+        int migrated = 0;
+        String after = "";
+        List<String> page;
+        do {
+            page = jdbcTemplate.queryForList("SELECT PROC_INST_ID_ FROM " + variableTable
+                            + " WHERE NAME_ = ? AND TYPE_ = ? AND EXECUTION_ID_ = PROC_INST_ID_ AND PROC_INST_ID_ > ?"
+                            + " ORDER BY PROC_INST_ID_ FETCH FIRST " + PAGE_SIZE + " ROWS ONLY",
+                    String.class, ProcessVariables.PAYLOAD, JavaObjectSerializer.NAME, after);
+            List<String> batch = page;
+            migrated += transactionTemplate.execute(status -> {
+                int converted = 0;
+                for (String processInstanceId : batch) {
+                    Object legacy = runtimeService.getVariable(processInstanceId, ProcessVariables.PAYLOAD);
+                    if (legacy instanceof Map<?, ?> fields) {
+                        runtimeService.setVariable(processInstanceId, ProcessVariables.PAYLOAD, WorkflowPayload.of(fields));
+                        converted++;
+                    }
+                }
+                return converted;
+            });
+            page.forEach(readCache::invalidateProcess);
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1);
+            }
+        } while (page.size() == PAGE_SIZE);
+
+        LOGGER.info("Migrated {} payload variables to the compact format", migrated);
+        return Map.of("migrated", migrated);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.workflowdemo.payload;
+
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+
+/**
+ * A payload key copied into its own primitive process variable at start time, so inbox
+ * filters and sorts on it can be evaluated by the database.
+ */
+public record PromotedField(String key, Type type) {
+
+    public static final String VARIABLE_PREFIX = "payload.";
+    private static final int MAX_TEXT_LENGTH = 4000;
+
+    public enum Type {
+        STRING("TEXT_"),
+        LONG("LONG_"),
+        DOUBLE("DOUBLE_");
+
+        private final String column;
+
+        Type(String column) {
+            this.column = column;
+        }
+
+        public String column() {
+            return column;
+        }
+    }
+
+    public static boolean isVariable(String variableName) {
+        return variableName.startsWith(VARIABLE_PREFIX);
+    }
+
+    public String variableName() {
+        return VARIABLE_PREFIX + key;
+    }
+
+    public Object convert(Object raw) {
+        if (raw == null || (raw instanceof String text && !StringUtils.hasText(text) && type != Type.STRING)) {
+            return null;
+        }
+        try {
+            return switch (type) {
+                case STRING -> toText(raw);
+                case LONG -> raw instanceof Number number ? toLong(number) : Long.parseLong(raw.toString().trim());
+                case DOUBLE -> raw instanceof Number number ? number.doubleValue() : Double.parseDouble(raw.toString().trim());
+            };
+        } catch (NumberFormatException | ArithmeticException ex) {
+            throw new IllegalArgumentException("Payload field '" + key + "' must be a "
+                    + (type == Type.LONG ? "whole number" : "number"));
+        }
+    }
+
+    private String toText(Object raw) {
+        String text = raw.toString();
+        if (text.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException("Payload field '" + key + "' must be at most "
+                    + MAX_TEXT_LENGTH + " characters");
+        }
+        return text;
+    }
+
+    private static long toLong(Number number) {
+        if (number instanceof Double || number instanceof Float) {
+            double value = number.doubleValue();
+            if (value != Math.rint(value)) {
+                throw new ArithmeticException("fractional value");
+            }
+            return (long) value;
+        }
+        return new BigDecimal(number.toString()).longValueExact();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.workflowdemo.payload;
+
+import com.example.workflowdemo.config.InboxProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+public class PromotedFields {
+
+    private final Map<String, PromotedField> fields = new LinkedHashMap<>();
+
+    public PromotedFields(InboxProperties properties) {
+        properties.promotedFields().forEach((key, type) -> fields.put(key, new PromotedField(key, type)));
+    }
+
+    public Collection<PromotedField> all() {
+        return fields.values();
+    }
+
+    public PromotedField require(String key) {
+        PromotedField field = fields.get(key);
+        if (field == null) {
+            throw new IllegalArgumentException("Unknown inbox field '" + key + "'. Queryable fields: " + fields.keySet());
+        }
+        return field;
+    }
+
+    public Map<String, Object> promote(Map<String, Object> payload) {
+        Map<String, Object> variables = new HashMap<>();
+        if (payload == null) {
+            return variables;
+        }
+        for (PromotedField field : fields.values()) {
+            Object value = field.convert(payload.get(field.key()));
+            if (value != null) {
+                variables.put(field.variableName(), value);
+            }
+        }
+        return variables;
+    }
+}
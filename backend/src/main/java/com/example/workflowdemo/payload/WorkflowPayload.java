@@ -0,0 +1,29 @@
+package com.example.workflowdemo.payload;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable business payload attached to a process instance, serialized as the plain field map.
+ */
+public record WorkflowPayload(@JsonValue Map<String, Object> fields) {
+
+    public WorkflowPayload {
+        fields = Collections.unmodifiableMap(new LinkedHashMap<>(fields));
+    }
+
+    @JsonCreator
+    public static WorkflowPayload of(Map<?, ?> fields) {
+        Map<String, Object> converted = new LinkedHashMap<>();
+        fields.forEach((key, value) -> {
+            if (key != null) {
+                converted.put(key.toString(), value);
+            }
+        });
+        return new WorkflowPayload(converted);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.workflowdemo.process;
+
+public final class ProcessRoles {
+
+    private ProcessRoles() {
+    }
+
+    public static String taskDefinitionKey(String role) {
+        if ("approver".equalsIgnoreCase(role)) {
+            return "approvalTask";
+        }
+        if ("executor".equalsIgnoreCase(role)) {
+            return "manualTask";
+        }
+        return null;
+    }
+}
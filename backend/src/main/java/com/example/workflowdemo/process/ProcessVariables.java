@@ -12,4 +12,5 @@ public final class ProcessVariables {
     public static final String PROCESS_STATUS = "processStatus";
     public static final String LAST_COMMENT = "lastComment";
     public static final String LAST_OPERATOR = "lastOperator";
+    public static final String PAYLOAD = "payload";
 }
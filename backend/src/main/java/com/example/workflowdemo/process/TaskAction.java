@@ -0,0 +1,40 @@
+package com.example.workflowdemo.process;
+
+public enum TaskAction {
+    APPROVE("APPROVED", ProcessState.MANUAL_PENDING, "TASK_APPROVED"),
+    REJECT("REJECTED", ProcessState.REJECTED, "TASK_REJECTED"),
+    COMPLETE("COMPLETED", ProcessState.COMPLETED, "TASK_COMPLETED");
+
+    private final String result;
+    private final ProcessState nextState;
+    private final String auditEvent;
+
+    TaskAction(String result, ProcessState nextState, String auditEvent) {
+        this.result = result;
+        this.nextState = nextState;
+        this.auditEvent = auditEvent;
+    }
+
+    public String result() {
+        return result;
+    }
+
+    public ProcessState nextState() {
+        return nextState;
+    }
+
+    public String auditEvent() {
+        return auditEvent;
+    }
+
+    public static TaskAction fromValue(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Field 'action' cannot be blank");
+        }
+        try {
+            return TaskAction.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unsupported task action: " + value);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.workflowdemo.projection;
+
+import com.example.workflowdemo.dto.HistoryEntry;
+import com.example.workflowdemo.dto.TaskSummary;
+import com.example.workflowdemo.process.ProcessState;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+public record ProcessStatusProjection(
+        String processInstanceId,
+        ProcessState state,
+        TaskSummary currentTask,
+        String assignee,
+        String lastOperator,
+        String lastComment,
+        Map<String, Object> variables,
+        List<HistoryEntry> history,
+        OffsetDateTime startedAt,
+        OffsetDateTime updatedAt,
+        OffsetDateTime endedAt
+) {
+}
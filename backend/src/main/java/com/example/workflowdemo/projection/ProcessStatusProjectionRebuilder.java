@@ -0,0 +1,77 @@
+package com.example.workflowdemo.projection;
+
+import com.example.workflowdemo.cache.WorkflowReadCache;
+import com.example.workflowdemo.service.ProcessStatusLoader;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "statusprojection")
+public class ProcessStatusProjectionRebuilder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProcessStatusProjectionRebuilder.class);
+    private static final int PAGE_SIZE = 200;
+
+    private final HistoryService historyService;
+    private final ProcessStatusLoader statusLoader;
+    private final ProcessStatusProjector projector;
+    private final TransactionTemplate transactionTemplate;
+    private final WorkflowReadCache readCache;
+    private final boolean rebuildOnStartup;
+
+    public ProcessStatusProjectionRebuilder(HistoryService historyService,
+                                            ProcessStatusLoader statusLoader,
+                                            ProcessStatusProjector projector,
+                                            TransactionTemplate transactionTemplate,
+                                            WorkflowReadCache readCache,
+                                            @Value("${workflow.projection.rebuild-on-startup:false}") boolean rebuildOnStartup) {
+        this.historyService = historyService;
+        this.statusLoader = statusLoader;
+        this.projector = projector;
+        this.transactionTemplate = transactionTemplate;
+        this.readCache = readCache;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        int rebuilt = 0;
+        int first = 0;
+        List<HistoricProcessInstance> page;
+        do {
+            page = historyService.createHistoricProcessInstanceQuery()
+                    .orderByProcessInstanceId()
+                    .asc()
+                    .listPage(first, PAGE_SIZE);
+            List<HistoricProcessInstance> batch = page;
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(instance -> {
+                projector.rebuild(instance, statusLoader.load(instance.getId()));
+                readCache.invalidateProcess(instance.getId());
+            }));
+            rebuilt += page.size();
+            first += PAGE_SIZE;
+        } while (page.size() == PAGE_SIZE);
+
+        LOGGER.info("Rebuilt process status projection for {} instances", rebuilt);
+        return Map.of("rebuilt", rebuilt);
+    }
+}
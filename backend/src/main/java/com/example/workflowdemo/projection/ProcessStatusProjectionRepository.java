@@ -0,0 +1,193 @@
+package com.example.workflowdemo.projection;
+
+import com.example.workflowdemo.dto.HistoryEntry;
+import com.example.workflowdemo.dto.TaskSummary;
+import com.example.workflowdemo.process.ProcessState;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Repository
+public class ProcessStatusProjectionRepository {
+
+    private static final TypeReference<Map<String, Object>> VARIABLES_TYPE = new TypeReference<>() {
+    };
+    private static final TypeReference<List<HistoryEntry>> HISTORY_TYPE = new TypeReference<>() {
+    };
+    private static final String COLUMNS_WITHOUT_VARIABLES = "process_instance_id, state, current_task_id,"
+            + " current_task_name, current_task_created_at, assignee, last_operator, last_comment,"
+            + " started_at, updated_at, ended_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ProcessStatusProjectionRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public Optional<ProcessStatusProjection> findById(String processInstanceId) {
+        return findById(processInstanceId, true);
+    }
+
+    public Optional<ProcessStatusProjection> findById(String processInstanceId, boolean withVariables) {
+        List<ProcessStatusProjection> rows = jdbcTemplate.query(
+                "SELECT " + (withVariables ? "*" : COLUMNS_WITHOUT_VARIABLES)
+                        + " FROM workflow_process_status WHERE process_instance_id = ?",
+                (rs, rowNum) -> mapRow(rs, withVariables), processInstanceId);
+        return rows.stream().findFirst();
+    }
+
+    public void save(ProcessStatusProjection projection) {
+        TaskSummary task = projection.currentTask();
+        String variables = writeVariables(projection.variables());
+        String history = writeHistory(projection.history());
+        int updated = jdbcTemplate.update("UPDATE workflow_process_status SET state = ?, current_task_id = ?,"
+                        + " current_task_name = ?, current_task_created_at = ?, assignee = ?, last_operator = ?,"
+                        + " last_comment = ?, variables = ?, history = ?, updated_at = ?, ended_at = ?"
+                        + " WHERE process_instance_id = ?",
+                stateName(projection.state()),
+                task != null ? task.taskId() : null,
+                task != null ? task.taskName() : null,
+                task != null ? toTimestamp(task.createdAt()) : null,
+                projection.assignee(),
+                projection.lastOperator(),
+                projection.lastComment(),
+                variables,
+                history,
+                toTimestamp(projection.updatedAt()),
+                toTimestamp(projection.endedAt()),
+                projection.processInstanceId());
+        if (updated == 0) {
+            jdbcTemplate.update("INSERT INTO workflow_process_status (process_instance_id, state, current_task_id,"
+                            + " current_task_name, current_task_created_at, assignee, last_operator, last_comment,"
+                            + " variables, history, started_at, updated_at, ended_at)"
+                            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    projection.processInstanceId(),
+                    stateName(projection.state()),
+                    task != null ? task.taskId() : null,
+                    task != null ? task.taskName() : null,
+                    task != null ? toTimestamp(task.createdAt()) : null,
+                    projection.assignee(),
+                    projection.lastOperator(),
+                    projection.lastComment(),
+                    variables,
+                    history,
+                    toTimestamp(projection.startedAt()),
+                    toTimestamp(projection.updatedAt()),
+                    toTimestamp(projection.endedAt()));
+        }
+    }
+
+    /**
+     * Returns the stored timeline: empty when the instance has no row yet, {@code null} when the row
+     * predates the history column and has to be rebuilt.
+     */
+    public List<HistoryEntry> findHistory(String processInstanceId) {
+        List<String> rows = jdbcTemplate.query(
+                "SELECT history FROM workflow_process_status WHERE process_instance_id = ?",
+                (rs, rowNum) -> rs.getString("history"), processInstanceId);
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<HistoryEntry> history = readHistory(rows.get(0));
+        return history != null ? new ArrayList<>(history) : null;
+    }
+
+    public void saveHistory(String processInstanceId, List<HistoryEntry> history) {
+        jdbcTemplate.update("UPDATE workflow_process_status SET history = ? WHERE process_instance_id = ?",
+                writeHistory(history), processInstanceId);
+    }
+
+    public void deleteAll(List<String> processInstanceIds) {
+        jdbcTemplate.batchUpdate("DELETE FROM workflow_process_status WHERE process_instance_id = ?",
+                processInstanceIds.stream().map(id -> new Object[]{id}).toList());
+    }
+
+    private ProcessStatusProjection mapRow(ResultSet rs, boolean withVariables) throws SQLException {
+        String processInstanceId = rs.getString("process_instance_id");
+        String taskId = rs.getString("current_task_id");
+        TaskSummary currentTask = taskId != null
+                ? new TaskSummary(taskId, rs.getString("current_task_name"), processInstanceId,
+                toOffset(rs.getTimestamp("current_task_created_at")))
+                : null;
+        return new ProcessStatusProjection(
+                processInstanceId,
+                ProcessState.fromValue(rs.getString("state")),
+                currentTask,
+                rs.getString("assignee"),
+                rs.getString("last_operator"),
+                rs.getString("last_comment"),
+                withVariables ? readVariables(rs.getString("variables")) : null,
+                withVariables ? readHistory(rs.getString("history")) : null,
+                toOffset(rs.getTimestamp("started_at")),
+                toOffset(rs.getTimestamp("updated_at")),
+                toOffset(rs.getTimestamp("ended_at"))
+        );
+    }
+
+    private String writeVariables(Map<String, Object> variables) {
+        try {
+            return objectMapper.writeValueAsString(variables != null ? variables : Map.of());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize process variables", ex);
+        }
+    }
+
+    private Map<String, Object> readVariables(String json) {
+        if (json == null) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(json, VARIABLES_TYPE);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to read projected process variables", ex);
+        }
+    }
+
+    private String writeHistory(List<HistoryEntry> history) {
+        if (history == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(history);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize process history", ex);
+        }
+    }
+
+    private List<HistoryEntry> readHistory(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, HISTORY_TYPE);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to read projected process history", ex);
+        }
+    }
+
+    private String stateName(ProcessState state) {
+        return state != null ? state.name() : null;
+    }
+
+    private Timestamp toTimestamp(OffsetDateTime value) {
+        return value != null ? Timestamp.from(value.toInstant()) : null;
+    }
+
+    private OffsetDateTime toOffset(Timestamp value) {
+        return value != null ? OffsetDateTime.ofInstant(value.toInstant(), ZoneOffset.UTC) : null;
+    }
+}
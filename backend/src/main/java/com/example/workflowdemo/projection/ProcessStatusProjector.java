@@ -0,0 +1,238 @@
+package com.example.workflowdemo.projection;
+
+import com.example.workflowdemo.dto.HistoryEntry;
+import com.example.workflowdemo.dto.ProcessStatusResponse;
+import com.example.workflowdemo.dto.TaskSummary;
+import com.example.workflowdemo.payload.PromotedField;
+import com.example.workflowdemo.process.ProcessState;
+import com.example.workflowdemo.process.ProcessVariables;
+import com.example.workflowdemo.service.ProcessStatusLoader;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.DelegateTask;
+import org.camunda.bpm.engine.delegate.ExecutionListener;
+import org.camunda.bpm.engine.delegate.TaskListener;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Keeps {@code workflow_process_status} in step with the engine. Listener and activity history events
+ * are collected per transaction and written once, just before the engine transaction commits.
+ */
+@Component
+public class ProcessStatusProjector {
+
+    private final ProcessStatusProjectionRepository repository;
+
+    public ProcessStatusProjector(ProcessStatusProjectionRepository repository) {
+        this.repository = repository;
+    }
+
+    public void onExecutionEvent(DelegateExecution execution) {
+        OffsetDateTime now = toOffset(ClockUtil.getCurrentTime());
+        boolean ended = ExecutionListener.EVENTNAME_END.equals(execution.getEventName());
+        Map<String, Object> variables = execution.getVariables();
+        record(execution.getProcessInstanceId(), update -> update.state(variables, null, null, now, ended ? now : null));
+    }
+
+    public void onTaskEvent(DelegateTask task) {
+        OffsetDateTime now = toOffset(ClockUtil.getCurrentTime());
+        Map<String, Object> variables = task.getExecution().getVariables();
+        TaskSummary currentTask = null;
+        String assignee = null;
+        if (TaskListener.EVENTNAME_CREATE.equals(task.getEventName())) {
+            currentTask = new TaskSummary(task.getId(), task.getName(), task.getProcessInstanceId(),
+                    toOffset(task.getCreateTime()));
+            assignee = task.getAssignee();
+        }
+        TaskSummary created = currentTask;
+        String taskAssignee = assignee;
+        record(task.getProcessInstanceId(), update -> update.state(variables, created, taskAssignee, now, null));
+    }
+
+    /**
+     * Receives the engine's activity instance history events, which also cover activities without
+     * listeners such as gateways.
+     */
+    public void onHistoryEvent(HistoryEvent event) {
+        if (event instanceof HistoricActivityInstanceEventEntity activity && activity.getProcessInstanceId() != null) {
+            record(activity.getProcessInstanceId(), update -> update.activities.add(ActivityEvent.of(activity)));
+        }
+    }
+
+    public void rebuild(HistoricProcessInstance instance, ProcessStatusResponse status) {
+        String assignee = status.currentTask() != null
+                ? status.history().stream()
+                .filter(entry -> entry.endTime() == null && entry.assignee() != null)
+                .map(entry -> entry.assignee())
+                .findFirst()
+                .orElse(null)
+                : null;
+        repository.save(project(instance.getId(), status.variables(), status.currentTask(), assignee,
+                status.history(), toOffset(instance.getStartTime()), toOffset(ClockUtil.getCurrentTime()),
+                toOffset(instance.getEndTime())));
+    }
+
+    private void record(String processInstanceId, Consumer<PendingUpdate> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            PendingUpdate update = new PendingUpdate();
+            change.accept(update);
+            flush(processInstanceId, update);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, PendingUpdate> updates = (Map<String, PendingUpdate>) TransactionSynchronizationManager.getResource(this);
+        if (updates == null) {
+            Map<String, PendingUpdate> bound = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    bound.forEach(ProcessStatusProjector.this::flush);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ProcessStatusProjector.this);
+                }
+            });
+            updates = bound;
+        }
+        change.accept(updates.computeIfAbsent(processInstanceId, id -> new PendingUpdate()));
+    }
+
+    private void flush(String processInstanceId, PendingUpdate update) {
+        List<HistoryEntry> history = repository.findHistory(processInstanceId);
+        if (history != null) {
+            update.activities.forEach(activity -> activity.applyTo(history));
+            if (update.variables != null) {
+                history.replaceAll(entry -> withResult(entry, update.variables));
+            }
+        }
+        if (update.variables == null) {
+            if (history != null && !update.activities.isEmpty()) {
+                repository.saveHistory(processInstanceId, history);
+            }
+            return;
+        }
+        repository.save(project(processInstanceId, update.variables, update.currentTask, update.assignee,
+                history, update.updatedAt, update.updatedAt, update.endedAt));
+    }
+
+    private ProcessStatusProjection project(String processInstanceId,
+                                            Map<String, Object> variables,
+                                            TaskSummary currentTask,
+                                            String assignee,
+                                            List<HistoryEntry> history,
+                                            OffsetDateTime startedAt,
+                                            OffsetDateTime updatedAt,
+                                            OffsetDateTime endedAt) {
+        return new ProcessStatusProjection(
+                processInstanceId,
+                ProcessState.fromValue(variables.get(ProcessVariables.PROCESS_STATUS)),
+                currentTask,
+                assignee,
+                asString(variables.get(ProcessVariables.LAST_OPERATOR)),
+                asString(variables.get(ProcessVariables.LAST_COMMENT)),
+                withoutPromotedFields(variables),
+                history,
+                startedAt,
+                updatedAt,
+                endedAt
+        );
+    }
+
+    private HistoryEntry withResult(HistoryEntry entry, Map<String, Object> variables) {
+        return new HistoryEntry(entry.activityId(), entry.activityName(), entry.activityType(), entry.assignee(),
+                ProcessStatusLoader.resolveResult(entry.activityType(), entry.activityId(), variables),
+                entry.startTime(), entry.endTime());
+    }
+
+    private Map<String, Object> withoutPromotedFields(Map<String, Object> variables) {
+        Map<String, Object> filtered = new HashMap<>(variables);
+        filtered.keySet().removeIf(PromotedField::isVariable);
+        return filtered;
+    }
+
+    private String asString(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private static OffsetDateTime toOffset(Date date) {
+        return date == null ? null : OffsetDateTime.ofInstant(date.toInstant(), ZoneOffset.UTC);
+    }
+
+    private static final class PendingUpdate {
+
+        private final List<ActivityEvent> activities = new ArrayList<>();
+        private Map<String, Object> variables;
+        private TaskSummary currentTask;
+        private String assignee;
+        private OffsetDateTime updatedAt;
+        private OffsetDateTime endedAt;
+
+        private void state(Map<String, Object> variables, TaskSummary currentTask, String assignee,
+                           OffsetDateTime updatedAt, OffsetDateTime endedAt) {
+            this.variables = variables;
+            this.currentTask = currentTask;
+            this.assignee = assignee;
+            this.updatedAt = updatedAt;
+            this.endedAt = endedAt;
+        }
+    }
+
+    private record ActivityEvent(boolean start,
+                                 boolean end,
+                                 String activityId,
+                                 String activityName,
+                                 String activityType,
+                                 String assignee,
+                                 OffsetDateTime startTime,
+                                 OffsetDateTime endTime) {
+
+        static ActivityEvent of(HistoricActivityInstanceEventEntity event) {
+            return new ActivityEvent(
+                    event.isEventOfType(HistoryEventTypes.ACTIVITY_INSTANCE_START),
+                    event.isEventOfType(HistoryEventTypes.ACTIVITY_INSTANCE_END),
+                    event.getActivityId(),
+                    event.getActivityName(),
+                    event.getActivityType(),
+                    event.getTaskAssignee(),
+                    toOffset(event.getStartTime()),
+                    toOffset(event.getEndTime()));
+        }
+
+        void applyTo(List<HistoryEntry> history) {
+            if (start) {
+                history.add(new HistoryEntry(activityId, activityName, activityType, assignee,
+                        ProcessStatusLoader.resolveResult(activityType, activityId, Map.of()),
+                        startTime, end ? endTime : null));
+                return;
+            }
+            for (int i = history.size() - 1; i >= 0; i--) {
+                HistoryEntry entry = history.get(i);
+                if (activityId.equals(entry.activityId()) && entry.endTime() == null) {
+                    history.set(i, new HistoryEntry(entry.activityId(), entry.activityName(), entry.activityType(),
+                            assignee != null ? assignee : entry.assignee(), entry.result(), entry.startTime(),
+                            end ? endTime : null));
+                    return;
+                }
+            }
+        }
+    }
+}
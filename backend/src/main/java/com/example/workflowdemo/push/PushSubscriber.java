@@ -0,0 +1,89 @@
+package com.example.workflowdemo.push;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * One SSE connection; a subscriber whose queue overflows is closed so the client reconnects.
+ */
+final class PushSubscriber {
+
+    private final SseEmitter emitter;
+    private final Predicate<WorkflowPushEvent> filter;
+    private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+    private final Executor dispatcher;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    PushSubscriber(SseEmitter emitter, Predicate<WorkflowPushEvent> filter, int bufferSize, Executor dispatcher) {
+        this.emitter = emitter;
+        this.filter = filter;
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+        this.dispatcher = dispatcher;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    boolean accepts(WorkflowPushEvent event) {
+        return filter.test(event);
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    boolean offer(WorkflowPushEvent event) {
+        return offer(SseEmitter.event()
+                .id(Long.toString(event.id()))
+                .name(event.type().name())
+                .data(event));
+    }
+
+    boolean offer(SseEmitter.SseEventBuilder event) {
+        if (closed.get()) {
+            return false;
+        }
+        if (!queue.offer(event)) {
+            return false;
+        }
+        scheduleDrain();
+        return true;
+    }
+
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            queue.clear();
+            emitter.complete();
+        }
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            dispatcher.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            SseEmitter.SseEventBuilder next;
+            while (!closed.get() && (next = queue.poll()) != null) {
+                emitter.send(next);
+            }
+        } catch (IOException | IllegalStateException ex) {
+            close();
+        } finally {
+            draining.set(false);
+        }
+        if (!closed.get() && !queue.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+}
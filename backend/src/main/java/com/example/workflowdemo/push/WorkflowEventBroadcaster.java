@@ -0,0 +1,203 @@
+package com.example.workflowdemo.push;
+
+import com.example.workflowdemo.config.PushProperties;
+import com.example.workflowdemo.process.ProcessRoles;
+import com.example.workflowdemo.support.TransactionCallbacks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.DelegateTask;
+import org.camunda.bpm.engine.delegate.ExecutionListener;
+import org.camunda.bpm.engine.delegate.TaskListener;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Fans committed task and process changes out to SSE subscribers, keeping recent events for resumption.
+ */
+@Component
+public class WorkflowEventBroadcaster implements SmartLifecycle {
+
+    static final String RESYNC_EVENT = "resync";
+
+    private final PushProperties properties;
+    private final Set<PushSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final WorkflowPushEvent[] replay;
+    private final Counter published;
+    private final Counter overflowed;
+
+    private long lastEventId;
+    private volatile ExecutorService dispatcher;
+    private volatile ScheduledExecutorService heartbeats;
+
+    public WorkflowEventBroadcaster(PushProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.replay = new WorkflowPushEvent[properties.replaySize()];
+        this.published = Counter.builder("workflow.push.published").register(meterRegistry);
+        this.overflowed = Counter.builder("workflow.push.subscribers.overflowed").register(meterRegistry);
+        Gauge.builder("workflow.push.subscribers", subscribers, Set::size).register(meterRegistry);
+    }
+
+    public SseEmitter subscribeInbox(String userId, String role, Long lastEventId) {
+        String taskDefinitionKey = ProcessRoles.taskDefinitionKey(role);
+        return subscribe(event -> event.taskId() != null
+                && userId.equals(event.assignee())
+                && (taskDefinitionKey == null || taskDefinitionKey.equals(event.taskDefinitionKey())), lastEventId);
+    }
+
+    public SseEmitter subscribeProcess(String processInstanceId, Long lastEventId) {
+        return subscribe(event -> processInstanceId.equals(event.processInstanceId()), lastEventId);
+    }
+
+    public void onTaskEvent(DelegateTask task) {
+        WorkflowPushEvent.Type type = switch (task.getEventName()) {
+            case TaskListener.EVENTNAME_CREATE -> WorkflowPushEvent.Type.TASK_CREATED;
+            case TaskListener.EVENTNAME_COMPLETE -> WorkflowPushEvent.Type.TASK_COMPLETED;
+            default -> null;
+        };
+        if (type != null) {
+            publishAfterCommit(type, task.getProcessInstanceId(), task.getId(),
+                    task.getTaskDefinitionKey(), task.getAssignee());
+        }
+    }
+
+    public void onExecutionEvent(DelegateExecution execution) {
+        if (ExecutionListener.EVENTNAME_END.equals(execution.getEventName())) {
+            publishAfterCommit(WorkflowPushEvent.Type.PROCESS_ENDED, execution.getProcessInstanceId(), null, null, null);
+        }
+    }
+
+    private void publishAfterCommit(WorkflowPushEvent.Type type,
+                                    String processInstanceId,
+                                    String taskId,
+                                    String taskDefinitionKey,
+                                    String assignee) {
+        long timestamp = ClockUtil.getCurrentTime().getTime();
+        TransactionCallbacks.afterCommit(() -> publish(type, processInstanceId, taskId, taskDefinitionKey, assignee, timestamp));
+    }
+
+    private SseEmitter subscribe(Predicate<WorkflowPushEvent> filter, Long resumeAfter) {
+        SseEmitter emitter = new SseEmitter(properties.emitterTimeout().toMillis());
+        PushSubscriber subscriber = new PushSubscriber(emitter, filter, properties.subscriberBufferSize(), dispatcher());
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        synchronized (replay) {
+            if (resumeAfter != null) {
+                replayTo(subscriber, resumeAfter);
+            }
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    private void replayTo(PushSubscriber subscriber, long resumeAfter) {
+        long oldestRetained = Math.max(1, lastEventId - replay.length + 1);
+        if (resumeAfter + 1 < oldestRetained || resumeAfter > lastEventId) {
+            subscriber.offer(SseEmitter.event()
+                    .id(Long.toString(lastEventId))
+                    .name(RESYNC_EVENT)
+                    .data(lastEventId));
+            return;
+        }
+        List<WorkflowPushEvent> missed = new ArrayList<>();
+        for (long id = resumeAfter + 1; id <= lastEventId; id++) {
+            WorkflowPushEvent event = replay[(int) (id % replay.length)];
+            if (subscriber.accepts(event)) {
+                missed.add(event);
+            }
+        }
+        for (WorkflowPushEvent event : missed) {
+            if (!subscriber.offer(event)) {
+                subscriber.close();
+                return;
+            }
+        }
+    }
+
+    private void publish(WorkflowPushEvent.Type type,
+                         String processInstanceId,
+                         String taskId,
+                         String taskDefinitionKey,
+                         String assignee,
+                         long timestamp) {
+        synchronized (replay) {
+            WorkflowPushEvent event = new WorkflowPushEvent(++lastEventId, type, processInstanceId, taskId,
+                    taskDefinitionKey, assignee, timestamp);
+            replay[(int) (event.id() % replay.length)] = event;
+            for (PushSubscriber subscriber : subscribers) {
+                if (subscriber.accepts(event) && !subscriber.offer(event)) {
+                    overflowed.increment();
+                    subscribers.remove(subscriber);
+                    subscriber.close();
+                }
+            }
+        }
+        published.increment();
+    }
+
+    private void sendHeartbeats() {
+        for (PushSubscriber subscriber : subscribers) {
+            if (!subscriber.offer(SseEmitter.event().comment("heartbeat"))) {
+                subscribers.remove(subscriber);
+                subscriber.close();
+            }
+        }
+    }
+
+    private ExecutorService dispatcher() {
+        ExecutorService current = dispatcher;
+        if (current == null) {
+            throw new IllegalStateException("Event streaming is not running");
+        }
+        return current;
+    }
+
+    @Override
+    public void start() {
+        dispatcher = Executors.newFixedThreadPool(properties.dispatcherThreads(), daemonThreads("workflow-push-"));
+        heartbeats = Executors.newSingleThreadScheduledExecutor(daemonThreads("workflow-push-heartbeat-"));
+        long interval = properties.heartbeatInterval().toMillis();
+        heartbeats.scheduleAtFixedRate(this::sendHeartbeats, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        heartbeats.shutdownNow();
+        subscribers.forEach(PushSubscriber::close);
+        subscribers.clear();
+        dispatcher.shutdown();
+        heartbeats = null;
+        dispatcher = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return dispatcher != null;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.workflowdemo.push;
+
+public record WorkflowPushEvent(
+        long id,
+        Type type,
+        String processInstanceId,
+        String taskId,
+        String taskDefinitionKey,
+        String assignee,
+        long timestamp
+) {
+
+    public enum Type {
+        TASK_CREATED,
+        TASK_COMPLETED,
+        PROCESS_ENDED
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.workflowdemo.service;
+
+import com.example.workflowdemo.config.ExportProperties;
+import com.example.workflowdemo.dto.ActivityExportItem;
+import com.example.workflowdemo.dto.TaskExportItem;
+import com.example.workflowdemo.engine.EngineCommandExecutor;
+import com.example.workflowdemo.engine.FetchVariablesCmd;
+import com.example.workflowdemo.payload.WorkflowPayload;
+import com.example.workflowdemo.process.ProcessRoles;
+import com.example.workflowdemo.process.ProcessVariables;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.history.NativeHistoricActivityInstanceQuery;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricActivityInstanceEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricVariableInstanceEntity;
+import org.camunda.bpm.engine.task.NativeTaskQuery;
+import org.camunda.bpm.engine.task.Task;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+public class ExportService {
+
+    private final TaskService taskService;
+    private final HistoryService historyService;
+    private final ManagementService managementService;
+    private final EngineCommandExecutor engineCommandExecutor;
+    private final ObjectMapper objectMapper;
+    private final ExportProperties properties;
+
+    public ExportService(TaskService taskService,
+                         HistoryService historyService,
+                         ManagementService managementService,
+                         EngineCommandExecutor engineCommandExecutor,
+                         ObjectMapper objectMapper,
+                         ExportProperties properties) {
+        this.taskService = taskService;
+        this.historyService = historyService;
+        this.managementService = managementService;
+        this.engineCommandExecutor = engineCommandExecutor;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    public void checkRange(OffsetDateTime from, OffsetDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+    }
+
+    public void exportTasks(String userId, String role, OutputStream out) throws IOException {
+        try (JsonGenerator generator = createGenerator(out)) {
+            String afterId = null;
+            List<Task> page;
+            do {
+                page = taskPage(userId, ProcessRoles.taskDefinitionKey(role), afterId);
+                Map<String, Object> payloads = engineCommandExecutor.execute(new FetchVariablesCmd(ProcessVariables.PAYLOAD,
+                        page.stream().map(Task::getProcessInstanceId).collect(Collectors.toSet()))).get(ProcessVariables.PAYLOAD);
+                for (Task task : page) {
+                    writeLine(generator, toExportItem(task, payloads.get(task.getProcessInstanceId())));
+                }
+                generator.flush();
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == properties.pageSize());
+        }
+    }
+
+    public void exportActivities(String userId, OffsetDateTime from, OffsetDateTime to, OutputStream out) throws IOException {
+        checkRange(from, to);
+        try (JsonGenerator generator = createGenerator(out)) {
+            HistoricActivityInstance last = null;
+            List<HistoricActivityInstance> page;
+            do {
+                page = activityPage(userId, from, to, last);
+                for (HistoricActivityInstance activity : page) {
+                    writeLine(generator, toExportItem(activity));
+                }
+                generator.flush();
+                if (!page.isEmpty()) {
+                    last = page.get(page.size() - 1);
+                }
+            } while (page.size() == properties.pageSize());
+        }
+    }
+
+    private List<Task> taskPage(String assignee, String taskDefinitionKey, String afterId) {
+        StringBuilder sql = new StringBuilder("SELECT T.* FROM ")
+                .append(managementService.getTableName(Task.class))
+                .append(" T WHERE T.ASSIGNEE_ = #{assignee}");
+        NativeTaskQuery query = taskService.createNativeTaskQuery()
+                .parameter("assignee", assignee);
+        if (taskDefinitionKey != null) {
+            sql.append(" AND T.TASK_DEF_KEY_ = #{taskDefinitionKey}");
+            query.parameter("taskDefinitionKey", taskDefinitionKey);
+        }
+        if (afterId != null) {
+            sql.append(" AND T.ID_ > #{afterId}");
+            query.parameter("afterId", afterId);
+        }
+        sql.append(" ORDER BY T.ID_");
+        return query.sql(sql.toString()).listPage(0, properties.pageSize());
+    }
+
+    private List<HistoricActivityInstance> activityPage(String userId, OffsetDateTime from, OffsetDateTime to,
+                                                        HistoricActivityInstance after) {
+        StringBuilder sql = new StringBuilder("SELECT A.* FROM ")
+                .append(managementService.getTableName(HistoricActivityInstanceEntity.class))
+                .append(" A WHERE A.PROC_INST_ID_ IN (SELECT V.PROC_INST_ID_ FROM ")
+                .append(managementService.getTableName(HistoricVariableInstanceEntity.class))
+                .append(" V WHERE V.NAME_ IN (#{initiator}, #{approver}, #{executor}) AND V.TEXT_ = #{userId})");
+        NativeHistoricActivityInstanceQuery query = historyService.createNativeHistoricActivityInstanceQuery()
+                .parameter("initiator", ProcessVariables.INITIATOR)
+                .parameter("approver", ProcessVariables.APPROVER_ID)
+                .parameter("executor", ProcessVariables.EXECUTOR_ID)
+                .parameter("userId", userId);
+        if (from != null) {
+            sql.append(" AND A.START_TIME_ >= #{from}");
+            query.parameter("from", Date.from(from.toInstant()));
+        }
+        if (to != null) {
+            sql.append(" AND A.START_TIME_ < #{to}");
+            query.parameter("to", Date.from(to.toInstant()));
+        }
+        if (after != null) {
+            sql.append(" AND (A.START_TIME_ > #{afterStart} OR (A.START_TIME_ = #{afterStart} AND A.ID_ > #{afterId}))");
+            query.parameter("afterStart", after.getStartTime())
+                    .parameter("afterId", after.getId());
+        }
+        sql.append(" ORDER BY A.START_TIME_, A.ID_");
+        return query.sql(sql.toString()).listPage(0, properties.pageSize());
+    }
+
+    private JsonGenerator createGenerator(OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        return generator;
+    }
+
+    private void writeLine(JsonGenerator generator, Object item) throws IOException {
+        generator.writeObject(item);
+        generator.writeRaw('\n');
+    }
+
+    private TaskExportItem toExportItem(Task task, Object payload) {
+        return new TaskExportItem(
+                task.getId(),
+                task.getName(),
+                task.getTaskDefinitionKey(),
+                task.getAssignee(),
+                task.getProcessInstanceId(),
+                toOffset(task.getCreateTime()),
+                payload instanceof WorkflowPayload workflowPayload ? workflowPayload.fields()
+                        : payload instanceof Map<?, ?> legacy ? WorkflowPayload.of(legacy).fields() : null
+        );
+    }
+
+    private ActivityExportItem toExportItem(HistoricActivityInstance activity) {
+        return new ActivityExportItem(
+                activity.getId(),
+                activity.getProcessInstanceId(),
+                activity.getActivityId(),
+                activity.getActivityName(),
+                activity.getActivityType(),
+                activity.getAssignee(),
+                toOffset(activity.getStartTime()),
+                toOffset(activity.getEndTime())
+        );
+    }
+
+    private OffsetDateTime toOffset(Date date) {
+        return date == null ? null : OffsetDateTime.ofInstant(date.toInstant(), ZoneOffset.UTC);
+    }
+}
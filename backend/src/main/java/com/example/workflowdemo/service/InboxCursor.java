@@ -0,0 +1,57 @@
+package com.example.workflowdemo.service;
+
+import org.camunda.bpm.engine.task.Task;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Keyset position in the inbox. Sorted inbox pages also carry the sort value of the last
+ * task ({@code null} when it had none), so the next page can continue behind it.
+ */
+record InboxCursor(Date createTime, String taskId, boolean sorted, String sortValue) {
+
+    private static final String NO_VALUE = "N";
+    private static final String VALUE = "V";
+
+    static InboxCursor after(Task task) {
+        return new InboxCursor(task.getCreateTime(), task.getId(), false, null);
+    }
+
+    static InboxCursor after(Task task, Object sortValue) {
+        return new InboxCursor(task.getCreateTime(), task.getId(), true, sortValue != null ? sortValue.toString() : null);
+    }
+
+    static InboxCursor decode(String value) {
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(":", 3);
+            Date createTime = new Date(Long.parseLong(parts[0]));
+            if (parts.length == 2) {
+                return new InboxCursor(createTime, parts[1], false, null);
+            }
+            if (parts[2].equals(NO_VALUE)) {
+                return new InboxCursor(createTime, parts[1], true, null);
+            }
+            if (!parts[2].startsWith(VALUE)) {
+                throw new IllegalArgumentException("Unknown sort segment");
+            }
+            return new InboxCursor(createTime, parts[1], true, parts[2].substring(VALUE.length()));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + value);
+        }
+    }
+
+    String encode() {
+        String raw = createTime.getTime() + ":" + taskId;
+        if (sorted) {
+            raw += ":" + (sortValue == null ? NO_VALUE : VALUE + sortValue);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.workflowdemo.service;
+
+import com.example.workflowdemo.payload.PromotedField;
+import com.example.workflowdemo.payload.PromotedFields;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Inbox filters and sort order on promoted payload fields, parsed from
+ * {@code filter=field:operator:value} and {@code sort=field[:asc|desc]} parameters.
+ */
+record InboxQuery(List<Filter> filters, Sort sort) {
+
+    static final InboxQuery NONE = new InboxQuery(List.of(), null);
+
+    static InboxQuery parse(List<String> filterExpressions, String sortExpression, PromotedFields fields) {
+        List<Filter> filters = new ArrayList<>();
+        if (filterExpressions != null) {
+            for (String expression : filterExpressions) {
+                if (StringUtils.hasText(expression)) {
+                    filters.add(Filter.parse(expression, fields));
+                }
+            }
+        }
+        Sort sort = StringUtils.hasText(sortExpression) ? Sort.parse(sortExpression, fields) : null;
+        return filters.isEmpty() && sort == null ? NONE : new InboxQuery(filters, sort);
+    }
+
+    boolean isEmpty() {
+        return filters.isEmpty() && sort == null;
+    }
+
+    enum Operator {
+        EQ("="),
+        NE("<>"),
+        LT("<"),
+        LTE("<="),
+        GT(">"),
+        GTE(">="),
+        LIKE("LIKE");
+
+        private final String sql;
+
+        Operator(String sql) {
+            this.sql = sql;
+        }
+
+        String sql() {
+            return sql;
+        }
+    }
+
+    record Filter(PromotedField field, Operator operator, Object value) {
+
+        static Filter parse(String expression, PromotedFields fields) {
+            String[] parts = expression.split(":", 3);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid filter '" + expression + "', expected field:operator:value");
+            }
+            PromotedField field = fields.require(parts[0].trim());
+            Operator operator;
+            try {
+                operator = Operator.valueOf(parts[1].trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Unknown filter operator '" + parts[1] + "'");
+            }
+            if (operator == Operator.LIKE && field.type() != PromotedField.Type.STRING) {
+                throw new IllegalArgumentException("Operator 'like' only applies to text field '" + field.key() + "'");
+            }
+            Object value = field.convert(parts[2]);
+            if (value == null) {
+                throw new IllegalArgumentException("Filter '" + expression + "' needs a value");
+            }
+            return new Filter(field, operator, value);
+        }
+    }
+
+    record Sort(PromotedField field, boolean descending) {
+
+        static Sort parse(String expression, PromotedFields fields) {
+            String[] parts = expression.split(":", 2);
+            PromotedField field = fields.require(parts[0].trim());
+            if (parts.length == 1 || "asc".equalsIgnoreCase(parts[1].trim())) {
+                return new Sort(field, false);
+            }
+            if ("desc".equalsIgnoreCase(parts[1].trim())) {
+                return new Sort(field, true);
+            }
+            throw new IllegalArgumentException("Invalid sort direction '" + parts[1] + "', expected asc or desc");
+        }
+    }
+}
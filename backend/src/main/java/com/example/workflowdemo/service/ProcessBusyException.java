@@ -0,0 +1,10 @@
+package com.example.workflowdemo.service;
+
+public class ProcessBusyException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ProcessBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
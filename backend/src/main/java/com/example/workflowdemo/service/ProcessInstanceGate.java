@@ -0,0 +1,132 @@
+package com.example.workflowdemo.service;
+
+import com.example.workflowdemo.config.ConcurrencyProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.camunda.bpm.engine.OptimisticLockingException;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.task.Task;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+@Component
+public class ProcessInstanceGate {
+
+    private final TaskService taskService;
+    private final ConcurrencyProperties properties;
+    private final ReentrantLock[] stripes;
+    private final Cache<String, String> processInstanceByTask;
+    private final Timer lockWait;
+    private final Counter lockTimeouts;
+    private final Counter conflictsRetried;
+    private final Counter conflictsExhausted;
+
+    public ProcessInstanceGate(TaskService taskService, ConcurrencyProperties properties, MeterRegistry meterRegistry) {
+        this.taskService = taskService;
+        this.properties = properties;
+        this.stripes = new ReentrantLock[properties.lockStripes()];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.processInstanceByTask = Caffeine.newBuilder()
+                .maximumSize(properties.taskLookupCacheSize())
+                .build();
+        this.lockWait = Timer.builder("workflow.concurrency.lock.wait").register(meterRegistry);
+        this.lockTimeouts = Counter.builder("workflow.concurrency.lock.timeouts").register(meterRegistry);
+        this.conflictsRetried = Counter.builder("workflow.concurrency.conflicts")
+                .tag("outcome", "retried")
+                .register(meterRegistry);
+        this.conflictsExhausted = Counter.builder("workflow.concurrency.conflicts")
+                .tag("outcome", "exhausted")
+                .register(meterRegistry);
+    }
+
+    public void remember(String taskId, String processInstanceId) {
+        if (taskId != null && processInstanceId != null) {
+            processInstanceByTask.put(taskId, processInstanceId);
+        }
+    }
+
+    /**
+     * Runs {@code operation} while holding the gates of the instances the given tasks belong
+     * to. Tasks that do not exist are skipped; the operation reports them itself.
+     */
+    public <T> T onTasks(Collection<String> taskIds, Supplier<T> operation) {
+        Map<String, String> processInstances = processInstanceByTask.getAll(taskIds, this::lookup);
+        TreeSet<Integer> indexes = new TreeSet<>();
+        processInstances.values().forEach(processInstanceId -> indexes.add(stripe(processInstanceId)));
+
+        List<ReentrantLock> held = new ArrayList<>(indexes.size());
+        try {
+            long started = System.nanoTime();
+            for (int index : indexes) {
+                ReentrantLock lock = stripes[index];
+                if (!lock.tryLock(properties.lockTimeout().toNanos() - (System.nanoTime() - started),
+                        TimeUnit.NANOSECONDS)) {
+                    lockTimeouts.increment();
+                    throw new ProcessBusyException("Timed out waiting for another operation on the process instance", null);
+                }
+                held.add(lock);
+            }
+            lockWait.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return withRetries(operation);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ProcessBusyException("Interrupted while waiting for the process instance", ex);
+        } finally {
+            for (int i = held.size() - 1; i >= 0; i--) {
+                held.get(i).unlock();
+            }
+        }
+    }
+
+    private <T> T withRetries(Supplier<T> operation) throws InterruptedException {
+        int maxRetries = TransactionSynchronizationManager.isActualTransactionActive() ? 0 : properties.maxRetries();
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return operation.get();
+            } catch (OptimisticLockingException ex) {
+                if (attempt >= maxRetries) {
+                    conflictsExhausted.increment();
+                    throw ex;
+                }
+                conflictsRetried.increment();
+                Thread.sleep(backoffMillis(attempt));
+            }
+        }
+    }
+
+    private long backoffMillis(int attempt) {
+        long ceiling = Math.min(properties.maxRetryBackoff().toMillis(),
+                properties.retryBackoff().toMillis() << Math.min(attempt, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+    }
+
+    private int stripe(String processInstanceId) {
+        int hash = processInstanceId.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), stripes.length);
+    }
+
+    private Map<String, String> lookup(Set<? extends String> taskIds) {
+        Map<String, String> found = new HashMap<>();
+        for (Task task : taskService.createTaskQuery().taskIdIn(taskIds.toArray(String[]::new)).list()) {
+            found.put(task.getId(), task.getProcessInstanceId());
+        }
+        return found;
+    }
+}
@@ -1,58 +1,135 @@
 package com.example.workflowdemo.service;
 
+import com.example.workflowdemo.config.BatchProperties;
+import com.example.workflowdemo.datasource.ReadRouting;
+import com.example.workflowdemo.dto.BatchItemResult;
+import com.example.workflowdemo.dto.BatchResponse;
 import com.example.workflowdemo.dto.StartProcessRequest;
 import com.example.workflowdemo.dto.StartProcessResponse;
 import com.example.workflowdemo.dto.TaskSummary;
+import com.example.workflowdemo.engine.EngineCommandExecutor;
+import com.example.workflowdemo.engine.StartProcessCmd;
 import com.example.workflowdemo.identity.IdentityContextHolder;
 import com.example.workflowdemo.logging.WorkflowAuditLogger;
+import com.example.workflowdemo.payload.PromotedFields;
+import com.example.workflowdemo.payload.WorkflowPayload;
 import com.example.workflowdemo.process.ProcessState;
 import com.example.workflowdemo.process.ProcessVariables;
-import org.camunda.bpm.engine.RuntimeService;
-import org.camunda.bpm.engine.TaskService;
-import org.camunda.bpm.engine.runtime.ProcessInstance;
+import com.example.workflowdemo.support.Chunks;
+import com.example.workflowdemo.support.TransactionCallbacks;
 import org.camunda.bpm.engine.task.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
 public class ProcessService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProcessService.class);
     private static final String PROCESS_DEFINITION_KEY = "workflowDemoProcess";
 
-    private final RuntimeService runtimeService;
-    private final TaskService taskService;
+    private final EngineCommandExecutor engineCommandExecutor;
     private final WorkflowAuditLogger auditLogger;
+    private final TransactionTemplate transactionTemplate;
+    private final BatchProperties batchProperties;
+    private final PromotedFields promotedFields;
+    private final ProcessInstanceGate gate;
+    private final ReadRouting readRouting;
 
-    public ProcessService(RuntimeService runtimeService,
-                          TaskService taskService,
-                          WorkflowAuditLogger auditLogger) {
-        this.runtimeService = runtimeService;
-        this.taskService = taskService;
+    public ProcessService(EngineCommandExecutor engineCommandExecutor,
+                          WorkflowAuditLogger auditLogger,
+                          TransactionTemplate transactionTemplate,
+                          BatchProperties batchProperties,
+                          PromotedFields promotedFields,
+                          ProcessInstanceGate gate,
+                          ReadRouting readRouting) {
+        this.engineCommandExecutor = engineCommandExecutor;
         this.auditLogger = auditLogger;
+        this.transactionTemplate = transactionTemplate;
+        this.batchProperties = batchProperties;
+        this.promotedFields = promotedFields;
+        this.gate = gate;
+        this.readRouting = readRouting;
     }
 
     public StartProcessResponse startProcess(StartProcessRequest request) {
+        return start(prepare(request));
+    }
+
+    public BatchResponse<StartProcessResponse> startProcesses(List<StartProcessRequest> requests) {
+        batchProperties.checkSize(requests);
+
+        List<BatchItemResult<StartProcessResponse>> results = new ArrayList<>(Collections.nCopies(requests.size(), null));
+        List<IndexedStart> prepared = new ArrayList<>();
+        for (int index = 0; index < requests.size(); index++) {
+            try {
+                prepared.add(new IndexedStart(index, prepare(requests.get(index))));
+            } catch (IllegalArgumentException ex) {
+                results.set(index, BatchItemResult.failure(index, ex.getMessage()));
+            }
+        }
+
+        for (List<IndexedStart> chunk : Chunks.partition(prepared, batchProperties.startChunkSize())) {
+            startChunk(chunk, results);
+        }
+        return BatchResponse.of(results);
+    }
+
+    private void startChunk(List<IndexedStart> chunk, List<BatchItemResult<StartProcessResponse>> results) {
+        try {
+            List<StartProcessResponse> started = transactionTemplate.execute(status ->
+                    chunk.stream().map(item -> start(item.start())).toList());
+            for (int i = 0; i < chunk.size(); i++) {
+                results.set(chunk.get(i).index(), BatchItemResult.success(chunk.get(i).index(), started.get(i)));
+            }
+        } catch (RuntimeException ex) {
+            if (chunk.size() > 1) {
+                chunk.forEach(item -> startChunk(List.of(item), results));
+                return;
+            }
+            IndexedStart item = chunk.get(0);
+            LOGGER.warn("Batch start item {} failed", item.index(), ex);
+            results.set(item.index(), BatchItemResult.failure(item.index(), describeFailure(ex)));
+        }
+    }
+
+    private PreparedStart prepare(StartProcessRequest request) {
+        if (request == null) {
+            throw new IllegalArgumentException("Start request cannot be empty");
+        }
         String initiator = IdentityContextHolder.requireUserId(request.initiator());
         String approverId = normalizeParticipant(request.approverId(), "approverId");
         String executorId = normalizeParticipant(request.executorId(), "executorId");
+        return new PreparedStart(initiator, buildInitialVariables(request, initiator, approverId, executorId));
+    }
 
-        Map<String, Object> variables = buildInitialVariables(request, initiator, approverId, executorId);
-        ProcessInstance instance = runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY, variables);
-        Task task = taskService.createTaskQuery()
-                .processInstanceId(instance.getProcessInstanceId())
-                .singleResult();
+    private StartProcessResponse start(PreparedStart start) {
+        StartProcessCmd.Started started = engineCommandExecutor.execute(
+                new StartProcessCmd(PROCESS_DEFINITION_KEY, start.variables()));
+        readRouting.userWritten(start.initiator());
+        Task task = started.firstTask();
 
-        TaskSummary summary = task != null ? toSummary(task) : null;
-        auditLogger.logOperation("PROCESS_START", instance.getProcessInstanceId(),
-                task != null ? task.getId() : null, initiator, ProcessState.APPROVAL_PENDING.name());
+        TaskSummary summary = null;
+        if (task != null) {
+            summary = toSummary(task);
+            gate.remember(task.getId(), started.processInstanceId());
+        }
+        TransactionCallbacks.afterCommit(() -> auditLogger.logOperation("PROCESS_START",
+                started.processInstanceId(), task != null ? task.getId() : null, start.initiator(),
+                ProcessState.APPROVAL_PENDING.name()));
 
-        return new StartProcessResponse(instance.getProcessInstanceId(), ProcessState.APPROVAL_PENDING, summary);
+        return new StartProcessResponse(started.processInstanceId(), ProcessState.APPROVAL_PENDING, summary);
     }
 
     private Map<String, Object> buildInitialVariables(StartProcessRequest request,
@@ -69,7 +146,8 @@ public class ProcessService {
         variables.put(ProcessVariables.LAST_OPERATOR, initiator);
 
         if (!CollectionUtils.isEmpty(request.payload())) {
-            variables.put("payload", new HashMap<>(request.payload()));
+            variables.put(ProcessVariables.PAYLOAD, WorkflowPayload.of(request.payload()));
+            variables.putAll(promotedFields.promote(request.payload()));
         }
         return variables;
     }
@@ -81,6 +159,10 @@ public class ProcessService {
         return value.trim();
     }
 
+    private String describeFailure(RuntimeException ex) {
+        return ex instanceof IllegalArgumentException ? ex.getMessage() : "Failed to start process instance";
+    }
+
     private TaskSummary toSummary(Task task) {
         return new TaskSummary(
                 task.getId(),
@@ -91,4 +173,10 @@ public class ProcessService {
                         : null
         );
     }
+
+    private record PreparedStart(String initiator, Map<String, Object> variables) {
+    }
+
+    private record IndexedStart(int index, PreparedStart start) {
+    }
 }
@@ -0,0 +1,166 @@
+package com.example.workflowdemo.service;
+
+import com.example.workflowdemo.dto.HistoryEntry;
+import com.example.workflowdemo.dto.ProcessStatusResponse;
+import com.example.workflowdemo.dto.TaskSummary;
+import com.example.workflowdemo.payload.PromotedField;
+import com.example.workflowdemo.process.ProcessState;
+import com.example.workflowdemo.process.ProcessVariables;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.history.HistoricActivityInstanceQuery;
+import org.camunda.bpm.engine.history.HistoricVariableInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Assembles a {@link ProcessStatusResponse} from at most three engine queries, whatever the length of the history.
+ */
+@Component
+public class ProcessStatusLoader {
+
+    private final TaskService taskService;
+    private final HistoryService historyService;
+
+    public ProcessStatusLoader(TaskService taskService, HistoryService historyService) {
+        this.taskService = taskService;
+        this.historyService = historyService;
+    }
+
+    public ProcessStatusResponse load(String processInstanceId) {
+        return load(processInstanceId, StatusView.FULL);
+    }
+
+    public ProcessStatusResponse load(String processInstanceId, StatusView view) {
+        return assemble(processInstanceId, loadVariables(processInstanceId, view), view);
+    }
+
+    public Optional<ProcessStatusResponse> find(String processInstanceId, StatusView view) {
+        Map<String, Object> variables = loadVariables(processInstanceId, view);
+        if (variables.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(assemble(processInstanceId, variables, view));
+    }
+
+    private ProcessStatusResponse assemble(String processInstanceId, Map<String, Object> variables, StatusView view) {
+        ProcessState state = ProcessState.fromValue(variables.get(ProcessVariables.PROCESS_STATUS));
+
+        TaskSummary summary = null;
+        if (view.includes(StatusView.Section.CURRENT_TASK)) {
+            Task currentTask = taskService.createTaskQuery()
+                    .processInstanceId(processInstanceId)
+                    .active()
+                    .singleResult();
+            summary = currentTask != null ? toSummary(currentTask) : null;
+        }
+
+        HistoryPage history = view.includes(StatusView.Section.HISTORY)
+                ? loadHistory(processInstanceId, variables, view)
+                : HistoryPage.NONE;
+
+        return new ProcessStatusResponse(processInstanceId, state, summary, history.entries(),
+                view.includes(StatusView.Section.VARIABLES) ? variables : null, history.nextOffset());
+    }
+
+    public HistoryPage loadHistory(String processInstanceId, Map<String, Object> variables, StatusView view) {
+        HistoricActivityInstanceQuery query = historyService.createHistoricActivityInstanceQuery()
+                .processInstanceId(processInstanceId)
+                .orderByHistoricActivityInstanceStartTime()
+                .asc()
+                .orderPartiallyByOccurrence()
+                .asc();
+        List<HistoricActivityInstance> instances = view.historySize() == null
+                ? query.list()
+                : query.listPage(view.historyOffset(), view.historySize() + 1);
+        Integer nextOffset = null;
+        if (view.historySize() != null && instances.size() > view.historySize()) {
+            instances = instances.subList(0, view.historySize());
+            nextOffset = view.historyOffset() + view.historySize();
+        }
+        return new HistoryPage(instances.stream()
+                .map(instance -> toHistoryEntry(instance, variables))
+                .collect(Collectors.toList()), nextOffset);
+    }
+
+    private Map<String, Object> loadVariables(String processInstanceId, StatusView view) {
+        return view.needsVariables() ? loadVariables(processInstanceId) : loadState(processInstanceId);
+    }
+
+    private Map<String, Object> loadVariables(String processInstanceId) {
+        Map<String, Object> variables = new HashMap<>();
+        for (HistoricVariableInstance variable : historyService.createHistoricVariableInstanceQuery()
+                .processInstanceId(processInstanceId)
+                .list()) {
+            if (variable.getTaskId() == null && !PromotedField.isVariable(variable.getName())) {
+                variables.put(variable.getName(), variable.getValue());
+            }
+        }
+        return variables;
+    }
+
+    private Map<String, Object> loadState(String processInstanceId) {
+        Map<String, Object> variables = new HashMap<>();
+        for (HistoricVariableInstance variable : historyService.createHistoricVariableInstanceQuery()
+                .processInstanceId(processInstanceId)
+                .variableName(ProcessVariables.PROCESS_STATUS)
+                .disableBinaryFetching()
+                .list()) {
+            if (variable.getTaskId() == null) {
+                variables.put(variable.getName(), variable.getValue());
+            }
+        }
+        return variables;
+    }
+
+    private TaskSummary toSummary(Task task) {
+        return new TaskSummary(
+                task.getId(),
+                task.getName(),
+                task.getProcessInstanceId(),
+                toOffset(task.getCreateTime())
+        );
+    }
+
+    private HistoryEntry toHistoryEntry(HistoricActivityInstance instance, Map<String, Object> variables) {
+        return new HistoryEntry(
+                instance.getActivityId(),
+                instance.getActivityName(),
+                instance.getActivityType(),
+                instance.getAssignee(),
+                resolveResult(instance.getActivityType(), instance.getActivityId(), variables),
+                toOffset(instance.getStartTime()),
+                toOffset(instance.getEndTime())
+        );
+    }
+
+    public static String resolveResult(String activityType, String activityId, Map<String, Object> variables) {
+        if (!"userTask".equals(activityType)) {
+            return null;
+        }
+        if ("manualTask".equals(activityId)) {
+            return ProcessState.COMPLETED.name();
+        }
+        Object result = variables.get(ProcessVariables.APPROVAL_RESULT);
+        return result != null ? result.toString() : null;
+    }
+
+    private OffsetDateTime toOffset(Date date) {
+        return date == null ? null : OffsetDateTime.ofInstant(date.toInstant(), ZoneOffset.UTC);
+    }
+
+    public record HistoryPage(List<HistoryEntry> entries, Integer nextOffset) {
+
+        static final HistoryPage NONE = new HistoryPage(null, null);
+    }
+}
@@ -1,132 +1,102 @@
 package com.example.workflowdemo.service;
 
+import com.example.workflowdemo.archive.ArchiveStore;
+import com.example.workflowdemo.archive.ArchivedProcess;
+import com.example.workflowdemo.cache.WorkflowReadCache;
+import com.example.workflowdemo.config.StatusProperties;
+import com.example.workflowdemo.datasource.ReadRouting;
 import com.example.workflowdemo.dto.HistoryEntry;
 import com.example.workflowdemo.dto.ProcessStatusResponse;
-import com.example.workflowdemo.dto.TaskSummary;
 import com.example.workflowdemo.process.ProcessState;
 import com.example.workflowdemo.process.ProcessVariables;
-import org.camunda.bpm.engine.HistoryService;
-import org.camunda.bpm.engine.RuntimeService;
-import org.camunda.bpm.engine.TaskService;
-import org.camunda.bpm.engine.history.HistoricActivityInstance;
-import org.camunda.bpm.engine.history.HistoricVariableInstance;
-import org.camunda.bpm.engine.task.Task;
+import com.example.workflowdemo.projection.ProcessStatusProjection;
+import com.example.workflowdemo.projection.ProcessStatusProjectionRepository;
 import org.springframework.stereotype.Service;
 
-import java.time.OffsetDateTime;
-import java.time.ZoneOffset;
-import java.util.Date;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 public class ProcessStatusService {
 
-    private final RuntimeService runtimeService;
-    private final TaskService taskService;
-    private final HistoryService historyService;
-
-    public ProcessStatusService(RuntimeService runtimeService,
-                                TaskService taskService,
-                                HistoryService historyService) {
-        this.runtimeService = runtimeService;
-        this.taskService = taskService;
-        this.historyService = historyService;
+    private final ProcessStatusProjectionRepository projectionRepository;
+    private final ProcessStatusLoader statusLoader;
+    private final WorkflowReadCache readCache;
+    private final StatusProperties statusProperties;
+    private final ArchiveStore archiveStore;
+    private final ReadRouting readRouting;
+
+    public ProcessStatusService(ProcessStatusProjectionRepository projectionRepository,
+                                ProcessStatusLoader statusLoader,
+                                WorkflowReadCache readCache,
+                                StatusProperties statusProperties,
+                                ArchiveStore archiveStore,
+                                ReadRouting readRouting) {
+        this.projectionRepository = projectionRepository;
+        this.statusLoader = statusLoader;
+        this.readCache = readCache;
+        this.statusProperties = statusProperties;
+        this.archiveStore = archiveStore;
+        this.readRouting = readRouting;
     }
 
     public ProcessStatusResponse getStatus(String processInstanceId) {
-        ProcessState state = determineState(processInstanceId);
-        Task currentTask = taskService.createTaskQuery()
-                .processInstanceId(processInstanceId)
-                .active()
-                .singleResult();
-
-        TaskSummary summary = currentTask != null ? toSummary(currentTask) : null;
-
-        List<HistoryEntry> history = historyService.createHistoricActivityInstanceQuery()
-                .processInstanceId(processInstanceId)
-                .orderByHistoricActivityInstanceStartTime()
-                .asc()
-                .list()
-                .stream()
-                .map(this::toHistoryEntry)
-                .collect(Collectors.toList());
-
-        Map<String, Object> variables = resolveVariables(processInstanceId);
-
-        return new ProcessStatusResponse(processInstanceId, state, summary, history, variables);
+        return getStatus(processInstanceId, null, null, null);
     }
 
-    private ProcessState determineState(String processInstanceId) {
-        Object value = null;
-        try {
-            value = runtimeService.getVariable(processInstanceId, ProcessVariables.PROCESS_STATUS);
-        } catch (Exception ignored) {
+    public ProcessStatusResponse getStatus(String processInstanceId, String include, Integer historyOffset, Integer historySize) {
+        StatusView view = StatusView.parse(include, historyOffset, historySize, statusProperties);
+        if (view.historyOffset() > 0) {
+            return loadStatus(processInstanceId, view);
         }
-        if (value == null) {
-            HistoricVariableInstance historic = historyService.createHistoricVariableInstanceQuery()
-                    .processInstanceId(processInstanceId)
-                    .variableName(ProcessVariables.PROCESS_STATUS)
-                    .singleResult();
-            if (historic != null) {
-                value = historic.getValue();
-            }
-        }
-        return ProcessState.fromValue(value);
+        return readCache.status(processInstanceId, view, () -> loadStatus(processInstanceId, view));
     }
 
-    private Map<String, Object> resolveVariables(String processInstanceId) {
-        try {
-            return runtimeService.getVariables(processInstanceId);
-        } catch (Exception ignored) {
-            return historyService.createHistoricVariableInstanceQuery()
-                    .processInstanceId(processInstanceId)
-                    .list()
-                    .stream()
-                    .collect(Collectors.toMap(HistoricVariableInstance::getName, HistoricVariableInstance::getValue,
-                            (left, right) -> right));
-        }
+    private ProcessStatusResponse loadStatus(String processInstanceId, StatusView view) {
+        return readRouting.readProcess(processInstanceId, () -> loadStatusFromStores(processInstanceId, view));
     }
 
-    private TaskSummary toSummary(Task task) {
-        return new TaskSummary(
-                task.getId(),
-                task.getName(),
-                task.getProcessInstanceId(),
-                task.getCreateTime() != null
-                        ? OffsetDateTime.ofInstant(task.getCreateTime().toInstant(), ZoneOffset.UTC)
-                        : null
-        );
+    private ProcessStatusResponse loadStatusFromStores(String processInstanceId, StatusView view) {
+        return projectionRepository.findById(processInstanceId, view.needsVariables())
+                .map(projection -> fromProjection(projection, view))
+                .or(() -> statusLoader.find(processInstanceId, view))
+                .or(() -> archiveStore.find(processInstanceId).map(archived -> fromArchive(archived, view)))
+                .orElseGet(() -> statusLoader.load(processInstanceId, view));
     }
 
-    private HistoryEntry toHistoryEntry(HistoricActivityInstance instance) {
-        return new HistoryEntry(
-                instance.getActivityId(),
-                instance.getActivityName(),
-                instance.getActivityType(),
-                instance.getAssignee(),
-                resolveResult(instance),
-                toOffset(instance.getStartTime()),
-                toOffset(instance.getEndTime())
+    private ProcessStatusResponse fromArchive(ArchivedProcess archived, StatusView view) {
+        ProcessStatusLoader.HistoryPage history = view.includes(StatusView.Section.HISTORY)
+                ? page(archived.history() != null ? archived.history() : List.of(), view)
+                : ProcessStatusLoader.HistoryPage.NONE;
+        return new ProcessStatusResponse(
+                archived.processInstanceId(),
+                ProcessState.fromValue(archived.variables().get(ProcessVariables.PROCESS_STATUS)),
+                null,
+                history.entries(),
+                view.includes(StatusView.Section.VARIABLES) ? archived.variables() : null,
+                history.nextOffset()
         );
     }
 
-    private String resolveResult(HistoricActivityInstance instance) {
-        if ("userTask".equals(instance.getActivityType())) {
-            if ("manualTask".equals(instance.getActivityId())) {
-                return ProcessState.COMPLETED.name();
-            }
-            HistoricVariableInstance variable = historyService.createHistoricVariableInstanceQuery()
-                    .processInstanceId(instance.getProcessInstanceId())
-                    .variableName(ProcessVariables.APPROVAL_RESULT)
-                    .singleResult();
-            return variable != null && variable.getValue() != null ? variable.getValue().toString() : null;
+    private ProcessStatusResponse fromProjection(ProcessStatusProjection projection, StatusView view) {
+        ProcessStatusLoader.HistoryPage history = ProcessStatusLoader.HistoryPage.NONE;
+        if (view.includes(StatusView.Section.HISTORY)) {
+            history = projection.history() != null
+                    ? page(projection.history(), view)
+                    : statusLoader.loadHistory(projection.processInstanceId(), projection.variables(), view);
         }
-        return null;
+        return new ProcessStatusResponse(
+                projection.processInstanceId(),
+                projection.state(),
+                view.includes(StatusView.Section.CURRENT_TASK) ? projection.currentTask() : null,
+                history.entries(),
+                view.includes(StatusView.Section.VARIABLES) ? projection.variables() : null,
+                history.nextOffset()
+        );
     }
 
-    private OffsetDateTime toOffset(Date date) {
-        return date == null ? null : OffsetDateTime.ofInstant(date.toInstant(), ZoneOffset.UTC);
+    private ProcessStatusLoader.HistoryPage page(List<HistoryEntry> all, StatusView view) {
+        int from = Math.min(view.historyOffset(), all.size());
+        int to = view.historySize() == null ? all.size() : Math.min(all.size(), from + view.historySize());
+        return new ProcessStatusLoader.HistoryPage(all.subList(from, to), to < all.size() ? to : null);
     }
 }
@@ -0,0 +1,66 @@
+package com.example.workflowdemo.service;
+
+import com.example.workflowdemo.config.StatusProperties;
+import org.springframework.util.StringUtils;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The parts of a process status a caller asked for; a {@code null} {@code historySize} means the whole history.
+ */
+public record StatusView(Set<Section> sections, int historyOffset, Integer historySize) {
+
+    public static final StatusView FULL = new StatusView(EnumSet.allOf(Section.class), 0, null);
+
+    public enum Section {
+        CURRENT_TASK("currentTask"),
+        HISTORY("history"),
+        VARIABLES("variables");
+
+        private final String parameter;
+
+        Section(String parameter) {
+            this.parameter = parameter;
+        }
+    }
+
+    public static StatusView parse(String include, Integer historyOffset, Integer historySize, StatusProperties properties) {
+        Set<Section> sections = EnumSet.noneOf(Section.class);
+        if (!StringUtils.hasText(include)) {
+            sections = EnumSet.allOf(Section.class);
+        } else {
+            for (String token : include.split(",")) {
+                String name = token.trim().toLowerCase(Locale.ROOT);
+                if (name.isEmpty() || name.equals("state")) {
+                    continue;
+                }
+                sections.add(section(name));
+            }
+        }
+        if (historyOffset != null && historyOffset < 0) {
+            throw new IllegalArgumentException("History offset cannot be negative");
+        }
+        return new StatusView(sections, historyOffset != null ? historyOffset : 0,
+                properties.resolveHistoryPageSize(historySize));
+    }
+
+    private static Section section(String name) {
+        for (Section section : Section.values()) {
+            if (section.parameter.toLowerCase(Locale.ROOT).equals(name)) {
+                return section;
+            }
+        }
+        throw new IllegalArgumentException("Unknown status section '" + name
+                + "', expected state, currentTask, history or variables");
+    }
+
+    public boolean includes(Section section) {
+        return sections.contains(section);
+    }
+
+    boolean needsVariables() {
+        return includes(Section.VARIABLES) || includes(Section.HISTORY);
+    }
+}
@@ -1,23 +1,47 @@
 package com.example.workflowdemo.service;
 
+import com.example.workflowdemo.cache.ResourceVersions;
+import com.example.workflowdemo.cache.WorkflowReadCache;
+import com.example.workflowdemo.config.BatchProperties;
+import com.example.workflowdemo.config.InboxProperties;
+import com.example.workflowdemo.datasource.ReadRouting;
+import com.example.workflowdemo.dto.BatchItemResult;
+import com.example.workflowdemo.dto.BatchResponse;
+import com.example.workflowdemo.dto.BulkTaskDecisionRequest;
 import com.example.workflowdemo.dto.TaskActionRequest;
 import com.example.workflowdemo.dto.TaskDecisionRequest;
 import com.example.workflowdemo.dto.TaskListItem;
 import com.example.workflowdemo.dto.TaskOperationResponse;
+import com.example.workflowdemo.dto.TaskPage;
+import com.example.workflowdemo.engine.EngineCommandExecutor;
+import com.example.workflowdemo.engine.FetchVariablesCmd;
+import com.example.workflowdemo.engine.TaskDecisionCmd;
 import com.example.workflowdemo.identity.IdentityContextHolder;
 import com.example.workflowdemo.logging.WorkflowAuditLogger;
-import com.example.workflowdemo.process.ProcessState;
+import com.example.workflowdemo.payload.PromotedField;
+import com.example.workflowdemo.payload.PromotedFields;
+import com.example.workflowdemo.payload.WorkflowPayload;
+import com.example.workflowdemo.process.ProcessRoles;
 import com.example.workflowdemo.process.ProcessVariables;
-import org.camunda.bpm.engine.IdentityService;
-import org.camunda.bpm.engine.RuntimeService;
+import com.example.workflowdemo.process.TaskAction;
+import com.example.workflowdemo.support.Chunks;
+import com.example.workflowdemo.support.TransactionCallbacks;
+import org.camunda.bpm.engine.ManagementService;
 import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.task.NativeTaskQuery;
 import org.camunda.bpm.engine.task.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -25,143 +49,272 @@ import java.util.stream.Collectors;
 @Service
 public class TaskApplicationService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskApplicationService.class);
+
     private final TaskService taskService;
-    private final RuntimeService runtimeService;
-    private final IdentityService identityService;
+    private final ManagementService managementService;
+    private final EngineCommandExecutor engineCommandExecutor;
     private final WorkflowAuditLogger auditLogger;
+    private final InboxProperties inboxProperties;
+    private final WorkflowReadCache readCache;
+    private final BatchProperties batchProperties;
+    private final PromotedFields promotedFields;
+    private final ProcessInstanceGate gate;
+    private final ResourceVersions versions;
+    private final ReadRouting readRouting;
 
     public TaskApplicationService(TaskService taskService,
-                                  RuntimeService runtimeService,
-                                  IdentityService identityService,
-                                  WorkflowAuditLogger auditLogger) {
+                                  ManagementService managementService,
+                                  EngineCommandExecutor engineCommandExecutor,
+                                  WorkflowAuditLogger auditLogger,
+                                  InboxProperties inboxProperties,
+                                  WorkflowReadCache readCache,
+                                  BatchProperties batchProperties,
+                                  PromotedFields promotedFields,
+                                  ProcessInstanceGate gate,
+                                  ResourceVersions versions,
+                                  ReadRouting readRouting) {
         this.taskService = taskService;
-        this.runtimeService = runtimeService;
-        this.identityService = identityService;
+        this.managementService = managementService;
+        this.engineCommandExecutor = engineCommandExecutor;
         this.auditLogger = auditLogger;
+        this.inboxProperties = inboxProperties;
+        this.readCache = readCache;
+        this.batchProperties = batchProperties;
+        this.promotedFields = promotedFields;
+        this.gate = gate;
+        this.versions = versions;
+        this.readRouting = readRouting;
+    }
+
+    public TaskPage findTasks(String role, String userId, String cursor, Integer pageSize) {
+        return findTasks(role, userId, cursor, pageSize, null, null);
     }
 
-    public List<TaskListItem> findTasks(String role, String userId) {
+    public TaskPage findTasks(String role, String userId, String cursor, Integer pageSize,
+                              List<String> filters, String sort) {
         String resolvedUserId = IdentityContextHolder.requireUserId(userId);
         String resolvedRole = IdentityContextHolder.requireRole(role);
-
-        var query = taskService.createTaskQuery();
-
-        query.taskAssignee(resolvedUserId);
-
-        if ("approver".equalsIgnoreCase(resolvedRole)) {
-            query.taskDefinitionKey("approvalTask");
-        } else if ("executor".equalsIgnoreCase(resolvedRole)) {
-            query.taskDefinitionKey("manualTask");
+        InboxCursor after = InboxCursor.decode(cursor);
+        int limit = inboxProperties.resolvePageSize(pageSize);
+        InboxQuery query = InboxQuery.parse(filters, sort, promotedFields);
+        if (after != null && after.sorted() != (query.sort() != null)) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort order");
         }
 
-        return query.orderByTaskCreateTime().desc()
-                .list()
-                .stream()
-                .map(this::toTaskListItem)
-                .collect(Collectors.toList());
+        if (after == null && pageSize == null && query.isEmpty()) {
+            return readCache.inbox(resolvedUserId, resolvedRole, () -> readRouting.readInbox(resolvedUserId,
+                    () -> loadPage(resolvedUserId, resolvedRole, query, null, limit)));
+        }
+        return readRouting.readInbox(resolvedUserId, () -> loadPage(resolvedUserId, resolvedRole, query, after, limit));
     }
 
     public TaskOperationResponse approveTask(String taskId, TaskDecisionRequest request) {
-        Task task = retrieveTask(taskId);
-        String operator = IdentityContextHolder.requireUserId(request.userId());
-        ensureAssignee(task, operator);
-
-        Map<String, Object> variables = new HashMap<>();
-        variables.put(ProcessVariables.APPROVAL_RESULT, "APPROVED");
-        variables.put(ProcessVariables.PROCESS_STATUS, ProcessState.MANUAL_PENDING.name());
-        variables.put(ProcessVariables.LAST_COMMENT, request.comment());
-        variables.put(ProcessVariables.LAST_OPERATOR, operator);
-
-        applyComment(task, operator, request.comment());
-
-        taskService.complete(task.getId(), variables);
-
-        auditLogger.logOperation("TASK_APPROVED", task.getProcessInstanceId(), taskId, operator, "APPROVED");
-
-        return new TaskOperationResponse(taskId, "APPROVED", ProcessState.MANUAL_PENDING);
+        return decide(taskId, TaskAction.APPROVE, request.userId(), request.comment(), request.reason());
     }
 
     public TaskOperationResponse rejectTask(String taskId, TaskDecisionRequest request) {
-        Task task = retrieveTask(taskId);
-        String operator = IdentityContextHolder.requireUserId(request.userId());
-        ensureAssignee(task, operator);
-
-        Map<String, Object> variables = new HashMap<>();
-        variables.put(ProcessVariables.APPROVAL_RESULT, "REJECTED");
-        variables.put(ProcessVariables.PROCESS_STATUS, ProcessState.REJECTED.name());
-        variables.put(ProcessVariables.LAST_COMMENT, request.reason() != null ? request.reason() : request.comment());
-        variables.put(ProcessVariables.LAST_OPERATOR, operator);
+        return decide(taskId, TaskAction.REJECT, request.userId(), request.comment(), request.reason());
+    }
 
-        applyComment(task, operator, mergeReasonAndComment(request));
+    public TaskOperationResponse completeTask(String taskId, TaskActionRequest request) {
+        return decide(taskId, TaskAction.COMPLETE, request.userId(), request.comment(), null);
+    }
 
-        taskService.complete(task.getId(), variables);
+    public BatchResponse<TaskOperationResponse> decideTasks(BulkTaskDecisionRequest request) {
+        batchProperties.checkSize(request.taskIds());
+        TaskAction action = TaskAction.fromValue(request.action());
+        String operator = IdentityContextHolder.requireUserId(request.userId());
 
-        auditLogger.logOperation("TASK_REJECTED", task.getProcessInstanceId(), taskId, operator, "REJECTED");
+        List<IndexedTaskId> taskIds = new ArrayList<>();
+        for (int index = 0; index < request.taskIds().size(); index++) {
+            taskIds.add(new IndexedTaskId(index, request.taskIds().get(index)));
+        }
 
-        return new TaskOperationResponse(taskId, "REJECTED", ProcessState.REJECTED);
+        List<BatchItemResult<TaskOperationResponse>> results =
+                new ArrayList<>(Collections.nCopies(taskIds.size(), null));
+        for (List<IndexedTaskId> chunk : Chunks.partition(taskIds, batchProperties.taskChunkSize())) {
+            decideChunk(chunk, action, operator, request.comment(), request.reason(), results);
+        }
+        return BatchResponse.of(results);
     }
 
-    public TaskOperationResponse completeTask(String taskId, TaskActionRequest request) {
-        Task task = retrieveTask(taskId);
-        String operator = IdentityContextHolder.requireUserId(request.userId());
-        ensureAssignee(task, operator);
+    private TaskPage loadPage(String userId, String role, InboxQuery inboxQuery, InboxCursor after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT T.* FROM ")
+                .append(managementService.getTableName(Task.class))
+                .append(" T");
+        var query = taskService.createNativeTaskQuery()
+                .parameter("assignee", userId);
 
-        Map<String, Object> variables = new HashMap<>();
-        variables.put(ProcessVariables.PROCESS_STATUS, ProcessState.COMPLETED.name());
-        variables.put(ProcessVariables.LAST_COMMENT, request.comment());
-        variables.put(ProcessVariables.LAST_OPERATOR, operator);
+        Map<String, String> aliases = joinPromotedFields(inboxQuery, sql, query);
+        sql.append(" WHERE T.ASSIGNEE_ = #{assignee}");
 
-        applyComment(task, operator, request.comment());
+        String taskDefinitionKey = ProcessRoles.taskDefinitionKey(role);
+        if (taskDefinitionKey != null) {
+            sql.append(" AND T.TASK_DEF_KEY_ = #{taskDefinitionKey}");
+            query.parameter("taskDefinitionKey", taskDefinitionKey);
+        }
+        for (int i = 0; i < inboxQuery.filters().size(); i++) {
+            InboxQuery.Filter filter = inboxQuery.filters().get(i);
+            sql.append(" AND ").append(column(aliases, filter.field())).append(' ')
+                    .append(filter.operator().sql()).append(" #{filter").append(i).append('}');
+            query.parameter("filter" + i, filter.value());
+        }
 
-        taskService.complete(task.getId(), variables);
+        String afterCreateTime = "(T.CREATE_TIME_ < #{afterCreateTime}"
+                + " OR (T.CREATE_TIME_ = #{afterCreateTime} AND T.ID_ < #{afterTaskId}))";
+        InboxQuery.Sort sort = inboxQuery.sort();
+        String sortColumn = sort != null ? column(aliases, sort.field()) : null;
+        if (after != null) {
+            query.parameter("afterCreateTime", after.createTime())
+                    .parameter("afterTaskId", after.taskId());
+            if (sort == null) {
+                sql.append(" AND ").append(afterCreateTime);
+            } else if (after.sortValue() == null) {
+                sql.append(" AND (").append(sortColumn).append(" IS NULL AND ").append(afterCreateTime).append(')');
+            } else {
+                sql.append(" AND (").append(sortColumn).append(" IS NULL OR ")
+                        .append(sortColumn).append(sort.descending() ? " < " : " > ").append("#{afterSortValue} OR (")
+                        .append(sortColumn).append(" = #{afterSortValue} AND ").append(afterCreateTime).append("))");
+                query.parameter("afterSortValue", sort.field().convert(after.sortValue()));
+            }
+        }
 
-        auditLogger.logOperation("TASK_COMPLETED", task.getProcessInstanceId(), taskId, operator, "COMPLETED");
+        sql.append(" ORDER BY ");
+        if (sort != null) {
+            sql.append("CASE WHEN ").append(sortColumn).append(" IS NULL THEN 1 ELSE 0 END, ")
+                    .append(sortColumn).append(sort.descending() ? " DESC, " : " ASC, ");
+        }
+        sql.append("T.CREATE_TIME_ DESC, T.ID_ DESC");
 
-        return new TaskOperationResponse(taskId, "COMPLETED", ProcessState.COMPLETED);
-    }
+        List<Task> tasks = query.sql(sql.toString()).listPage(0, limit + 1);
+        tasks.forEach(task -> gate.remember(task.getId(), task.getProcessInstanceId()));
+        boolean hasMore = tasks.size() > limit;
+        if (hasMore) {
+            tasks = tasks.subList(0, limit);
+        }
 
-    private Task retrieveTask(String taskId) {
-        Task task = taskService.createTaskQuery()
-                .taskId(taskId)
-                .singleResult();
-        if (task == null) {
-            throw new IllegalArgumentException("Task not found: " + taskId);
+        // the sort value for the cursor comes with the payloads: a native task query only maps task columns
+        List<String> variableNames = sort != null && hasMore
+                ? List.of(ProcessVariables.PAYLOAD, sort.field().variableName())
+                : List.of(ProcessVariables.PAYLOAD);
+        Map<String, Map<String, Object>> variables = engineCommandExecutor.execute(new FetchVariablesCmd(variableNames,
+                tasks.stream().map(Task::getProcessInstanceId).collect(Collectors.toSet())));
+        Map<String, Object> payloads = variables.get(ProcessVariables.PAYLOAD);
+        String nextCursor = null;
+        if (hasMore) {
+            Task last = tasks.get(limit - 1);
+            nextCursor = (sort != null
+                    ? InboxCursor.after(last, variables.get(sort.field().variableName()).get(last.getProcessInstanceId()))
+                    : InboxCursor.after(last)).encode();
         }
-        return task;
+
+        List<TaskListItem> items = tasks.stream()
+                .map(task -> toTaskListItem(task, payloads.get(task.getProcessInstanceId())))
+                .collect(Collectors.toList());
+        return new TaskPage(items, nextCursor);
     }
 
-    private void ensureAssignee(Task task, String userId) {
-        if (!StringUtils.hasText(userId)) {
-            throw new IllegalArgumentException("User identity is required to operate on the task");
+    private Map<String, String> joinPromotedFields(InboxQuery inboxQuery, StringBuilder sql, NativeTaskQuery query) {
+        Map<String, String> aliases = new LinkedHashMap<>();
+        List<PromotedField> fields = new ArrayList<>();
+        inboxQuery.filters().forEach(filter -> fields.add(filter.field()));
+        if (inboxQuery.sort() != null) {
+            fields.add(inboxQuery.sort().field());
         }
-        if (!userId.equals(task.getAssignee())) {
-            throw new IllegalArgumentException("User " + userId + " is not assigned to task " + task.getId());
+        String variableTable = managementService.getTableName(VariableInstanceEntity.class);
+        for (PromotedField field : fields) {
+            if (aliases.containsKey(field.key())) {
+                continue;
+            }
+            String alias = "V" + aliases.size();
+            aliases.put(field.key(), alias);
+            sql.append(" LEFT JOIN ").append(variableTable).append(' ').append(alias)
+                    .append(" ON ").append(alias).append(".PROC_INST_ID_ = T.PROC_INST_ID_")
+                    .append(" AND ").append(alias).append(".EXECUTION_ID_ = T.PROC_INST_ID_")
+                    .append(" AND ").append(alias).append(".TASK_ID_ IS NULL")
+                    .append(" AND ").append(alias).append(".NAME_ = #{").append(alias).append("Name}");
+            query.parameter(alias + "Name", field.variableName());
         }
+        return aliases;
+    }
+
+    private String column(Map<String, String> aliases, PromotedField field) {
+        return aliases.get(field.key()) + "." + field.type().column();
     }
 
-    private void applyComment(Task task, String userId, String comment) {
-        if (!StringUtils.hasText(comment)) {
-            return;
+    private TaskOperationResponse decide(String taskId, TaskAction action, String userId, String comment, String reason) {
+        String operator = IdentityContextHolder.requireUserId(userId);
+        TaskDecisionCmd decision = new TaskDecisionCmd(List.of(toDecision(taskId, action, operator, comment, reason)));
+        TaskDecisionCmd.Outcome outcome = gate.onTasks(List.of(taskId),
+                () -> engineCommandExecutor.execute(decision)).get(0);
+        if (!outcome.succeeded()) {
+            throw new IllegalArgumentException(outcome.error());
         }
-        identityService.setAuthenticatedUserId(userId);
+        return toResponse(outcome, action, operator);
+    }
+
+    private void decideChunk(List<IndexedTaskId> chunk,
+                             TaskAction action,
+                             String operator,
+                             String comment,
+                             String reason,
+                             List<BatchItemResult<TaskOperationResponse>> results) {
         try {
-            taskService.createComment(task.getId(), task.getProcessInstanceId(), comment);
-        } finally {
-            identityService.clearAuthentication();
+            TaskDecisionCmd decisions = new TaskDecisionCmd(chunk.stream()
+                    .map(item -> toDecision(item.taskId(), action, operator, comment, reason))
+                    .collect(Collectors.toList()));
+            List<TaskDecisionCmd.Outcome> outcomes = gate.onTasks(
+                    chunk.stream().map(IndexedTaskId::taskId).toList(),
+                    () -> engineCommandExecutor.execute(decisions));
+            for (int i = 0; i < chunk.size(); i++) {
+                int index = chunk.get(i).index();
+                TaskDecisionCmd.Outcome outcome = outcomes.get(i);
+                results.set(index, outcome.succeeded()
+                        ? BatchItemResult.success(index, toResponse(outcome, action, operator))
+                        : BatchItemResult.failure(index, outcome.error()));
+            }
+        } catch (RuntimeException ex) {
+            if (chunk.size() > 1) {
+                chunk.forEach(item -> decideChunk(List.of(item), action, operator, comment, reason, results));
+                return;
+            }
+            IndexedTaskId item = chunk.get(0);
+            LOGGER.warn("Bulk {} of task {} failed", action, item.taskId(), ex);
+            results.set(item.index(), BatchItemResult.failure(item.index(),
+                    ex instanceof IllegalArgumentException ? ex.getMessage() : "Failed to " + action.name().toLowerCase() + " task"));
         }
     }
 
-    private TaskListItem toTaskListItem(Task task) {
+    private TaskDecisionCmd.Decision toDecision(String taskId, TaskAction action, String operator, String comment, String reason) {
+        Map<String, Object> variables = new HashMap<>();
+        if (action != TaskAction.COMPLETE) {
+            variables.put(ProcessVariables.APPROVAL_RESULT, action.result());
+        }
+        variables.put(ProcessVariables.PROCESS_STATUS, action.nextState().name());
+        variables.put(ProcessVariables.LAST_COMMENT, action == TaskAction.REJECT && reason != null ? reason : comment);
+        variables.put(ProcessVariables.LAST_OPERATOR, operator);
+
+        return new TaskDecisionCmd.Decision(taskId, operator, variables,
+                action == TaskAction.REJECT ? mergeReasonAndComment(reason, comment) : comment);
+    }
+
+    private TaskOperationResponse toResponse(TaskDecisionCmd.Outcome outcome, TaskAction action, String operator) {
+        versions.bumpProcess(outcome.processInstanceId());
+        versions.bumpInbox(operator);
+        readRouting.userWritten(operator);
+        TransactionCallbacks.afterCommit(() -> auditLogger.logOperation(action.auditEvent(),
+                outcome.processInstanceId(), outcome.taskId(), operator, action.result()));
+        return new TaskOperationResponse(outcome.taskId(), action.result(), action.nextState(),
+                outcome.transitionPending());
+    }
+
+    private TaskListItem toTaskListItem(Task task, Object rawPayload) {
         Map<String, Object> payload = Map.of();
-        Object rawPayload = runtimeService.getVariable(task.getExecutionId(), "payload");
-        if (rawPayload instanceof Map<?, ?> map) {
-            Map<String, Object> converted = new HashMap<>();
-            map.forEach((k, v) -> {
-                if (k != null) {
-                    converted.put(k.toString(), v);
-                }
-            });
-            payload = converted;
+        if (rawPayload instanceof WorkflowPayload workflowPayload) {
+            payload = workflowPayload.fields();
+        } else if (rawPayload instanceof Map<?, ?> legacy) {
+            payload = WorkflowPayload.of(legacy).fields();
         }
 
         return new TaskListItem(
@@ -175,10 +328,13 @@ public class TaskApplicationService {
         );
     }
 
-    private String mergeReasonAndComment(TaskDecisionRequest request) {
-        if (StringUtils.hasText(request.reason()) && StringUtils.hasText(request.comment())) {
-            return request.reason() + " | " + request.comment();
+    private String mergeReasonAndComment(String reason, String comment) {
+        if (StringUtils.hasText(reason) && StringUtils.hasText(comment)) {
+            return reason + " | " + comment;
         }
-        return StringUtils.hasText(request.reason()) ? request.reason() : request.comment();
+        return StringUtils.hasText(reason) ? reason : comment;
+    }
+
+    private record IndexedTaskId(int index, String taskId) {
     }
 }
@@ -0,0 +1,22 @@
+package com.example.workflowdemo.startup;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.cfg.ProcessEnginePlugin;
+import org.camunda.bpm.engine.spring.ProcessEngineFactoryBean;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+
+/**
+ * Beans that stay eager when {@code spring.main.lazy-initialization} is on.
+ */
+@Configuration(proxyBeanMethods = false)
+public class FastStartupConfiguration {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(ProcessEngine.class, ProcessEngineFactoryBean.class,
+                ProcessEnginePlugin.class, SchedulingConfigurer.class, StartupReport.class);
+    }
+}
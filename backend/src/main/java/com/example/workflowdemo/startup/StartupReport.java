@@ -0,0 +1,63 @@
+package com.example.workflowdemo.startup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs and publishes as {@code workflow.startup.time} how the time until readiness was spent.
+ */
+@Component
+public class StartupReport {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StartupReport.class);
+
+    private final MeterRegistry meterRegistry;
+    private volatile Duration contextTime = Duration.ZERO;
+
+    public StartupReport(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener
+    public void onStarted(ApplicationStartedEvent event) {
+        if (event.getTimeTaken() != null) {
+            contextTime = event.getTimeTaken();
+        }
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        if (event.getTimeTaken() == null) {
+            return;
+        }
+        Duration total = event.getTimeTaken();
+        Duration uptime = Duration.ofMillis(ManagementFactory.getRuntimeMXBean().getUptime());
+        Map<String, Duration> phases = new LinkedHashMap<>();
+        phases.put("jvm", max(uptime.minus(total)));
+        phases.put("context", contextTime);
+        phases.put("runners", max(total.minus(contextTime)));
+        phases.put("ready", uptime);
+        phases.forEach((phase, duration) -> TimeGauge.builder("workflow.startup.time", () -> duration.toMillis(),
+                        TimeUnit.MILLISECONDS)
+                .tag("phase", phase)
+                .register(meterRegistry));
+        LOGGER.info("Ready after {} ms: jvm {} ms, context {} ms, runners and warm-up {} ms",
+                uptime.toMillis(), phases.get("jvm").toMillis(), contextTime.toMillis(), phases.get("runners").toMillis());
+    }
+
+    private static Duration max(Duration duration) {
+        return duration.isNegative() ? Duration.ZERO : duration;
+    }
+}
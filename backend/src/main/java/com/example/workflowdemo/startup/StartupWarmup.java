@@ -0,0 +1,100 @@
+package com.example.workflowdemo.startup;
+
+import com.example.workflowdemo.config.StartupProperties;
+import com.example.workflowdemo.process.ProcessRoles;
+import com.example.workflowdemo.service.ProcessStatusLoader;
+import com.example.workflowdemo.service.TaskApplicationService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Loads the process definitions and exercises the inbox and status read paths before the
+ * readiness state switches to {@code ACCEPTING_TRAFFIC}.
+ */
+@Component
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StartupWarmup.class);
+    private static final List<String> ROLES = List.of("approver", "executor");
+
+    private final RepositoryService repositoryService;
+    private final RuntimeService runtimeService;
+    private final TaskService taskService;
+    private final TaskApplicationService taskApplicationService;
+    private final ProcessStatusLoader statusLoader;
+    private final ObjectMapper objectMapper;
+    private final StartupProperties properties;
+
+    public StartupWarmup(RepositoryService repositoryService,
+                         RuntimeService runtimeService,
+                         TaskService taskService,
+                         TaskApplicationService taskApplicationService,
+                         ProcessStatusLoader statusLoader,
+                         ObjectMapper objectMapper,
+                         StartupProperties properties) {
+        this.repositoryService = repositoryService;
+        this.runtimeService = runtimeService;
+        this.taskService = taskService;
+        this.taskApplicationService = taskApplicationService;
+        this.statusLoader = statusLoader;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.warmup().enabled()) {
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            for (ProcessDefinition definition : repositoryService.createProcessDefinitionQuery().latestVersion().list()) {
+                repositoryService.getProcessDefinition(definition.getId());
+            }
+            String sample = runtimeService.createProcessInstanceQuery().listPage(0, 1).stream()
+                    .map(ProcessInstance::getId)
+                    .findFirst()
+                    .orElse(null);
+            String role = null;
+            Task inboxTask = null;
+            for (String candidate : ROLES) {
+                inboxTask = taskService.createTaskQuery()
+                        .taskDefinitionKey(ProcessRoles.taskDefinitionKey(candidate))
+                        .taskAssigneeLike("%")
+                        .listPage(0, 1).stream()
+                        .findFirst()
+                        .orElse(null);
+                if (inboxTask != null) {
+                    role = candidate;
+                    break;
+                }
+            }
+            for (int i = 0; i < properties.warmup().iterations(); i++) {
+                if (inboxTask != null) {
+                    objectMapper.writeValueAsBytes(taskApplicationService.findTasks(role, inboxTask.getAssignee(), null, 1,
+                            List.of(), null));
+                }
+                if (sample != null) {
+                    objectMapper.writeValueAsBytes(statusLoader.load(sample));
+                }
+            }
+            LOGGER.info("Warm-up ran {} iteration(s) in {} ms", properties.warmup().iterations(),
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException | JsonProcessingException ex) {
+            LOGGER.warn("Warm-up failed, continuing startup", ex);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.workflowdemo.support;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class Chunks {
+
+    private Chunks() {
+    }
+
+    public static <T> List<List<T>> partition(List<T> items, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += size) {
+            chunks.add(items.subList(from, Math.min(from + size, items.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.workflowdemo.support;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers side effects until the surrounding transaction has finished. A deferred action that fails
+ * is logged rather than rethrown, since the transaction it belongs to can no longer be rolled back.
+ */
+public final class TransactionCallbacks {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransactionCallbacks.class);
+
+    private TransactionCallbacks() {
+    }
+
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runDeferred(action);
+            }
+        });
+    }
+
+    public static void afterCompletion(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                runDeferred(action);
+            }
+        });
+    }
+
+    private static void runDeferred(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Deferred transaction callback failed", ex);
+        }
+    }
+}
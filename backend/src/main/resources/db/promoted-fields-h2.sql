@@ -0,0 +1,4 @@
+CREATE INDEX IF NOT EXISTS WORKFLOW_IDX_VAR_PROCINST_NAME ON ${variableTable} (PROC_INST_ID_, NAME_);
+CREATE INDEX IF NOT EXISTS WORKFLOW_IDX_VAR_NAME_TEXT ON ${variableTable} (NAME_, TEXT_);
+CREATE INDEX IF NOT EXISTS WORKFLOW_IDX_VAR_NAME_LONG ON ${variableTable} (NAME_, LONG_);
+CREATE INDEX IF NOT EXISTS WORKFLOW_IDX_VAR_NAME_DOUBLE ON ${variableTable} (NAME_, DOUBLE_);
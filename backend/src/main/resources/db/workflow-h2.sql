@@ -0,0 +1,26 @@
+CREATE TABLE IF NOT EXISTS workflow_process_status (
+    process_instance_id VARCHAR(64) PRIMARY KEY,
+    state VARCHAR(32),
+    current_task_id VARCHAR(64),
+    current_task_name VARCHAR(255),
+    current_task_created_at TIMESTAMP,
+    assignee VARCHAR(255),
+    last_operator VARCHAR(255),
+    last_comment VARCHAR(4000),
+    variables CLOB,
+    history CLOB,
+    started_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    ended_at TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS workflow_replica_heartbeat (
+    id INT PRIMARY KEY,
+    beat TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS workflow_startup_stamp (
+    name VARCHAR(64) PRIMARY KEY,
+    checksum VARCHAR(128) NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
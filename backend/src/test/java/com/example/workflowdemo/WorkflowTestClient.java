@@ -0,0 +1,122 @@
+package com.example.workflowdemo;
+
+import com.example.workflowdemo.dto.ProcessStatusResponse;
+import com.example.workflowdemo.dto.StartProcessResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class WorkflowTestClient {
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+
+    public WorkflowTestClient(MockMvc mockMvc, ObjectMapper objectMapper) {
+        this.mockMvc = mockMvc;
+        this.objectMapper = objectMapper;
+    }
+
+    public StartProcessResponse startProcess(String initiator, String approver, String executor) throws Exception {
+        return startProcess(initiator, approver, executor, Map.of("amount", 100));
+    }
+
+    public StartProcessResponse startProcess(String initiator, String approver, String executor,
+                                             Map<String, Object> payload) throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "initiator", initiator,
+                "approverId", approver,
+                "executorId", executor,
+                "payload", payload
+        ));
+
+        MvcResult result = mockMvc.perform(post("/api/process/start")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return objectMapper.readValue(result.getResponse().getContentAsByteArray(), StartProcessResponse.class);
+    }
+
+    public List<Map<String, Object>> fetchTasks(String role, String userId) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/tasks")
+                        .param("role", role)
+                        .param("userId", userId))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return readList(result);
+    }
+
+    public void approveTask(String taskId, String userId) throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "userId", userId,
+                "comment", "Looks good"
+        ));
+        mockMvc.perform(post("/api/tasks/{taskId}/approve", taskId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk());
+    }
+
+    public void rejectTask(String taskId, String userId) throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "userId", userId,
+                "reason", "Insufficient data"
+        ));
+        mockMvc.perform(post("/api/tasks/{taskId}/reject", taskId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk());
+    }
+
+    public void completeTask(String taskId, String userId) throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "userId", userId,
+                "comment", "Manual step done"
+        ));
+        mockMvc.perform(post("/api/tasks/{taskId}/complete", taskId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk());
+    }
+
+    public Map<String, Object> fetchStatusJson(String processInstanceId, String... params) throws Exception {
+        var request = get("/api/process/{processInstanceId}", processInstanceId);
+        for (int i = 0; i < params.length; i += 2) {
+            request.param(params[i], params[i + 1]);
+        }
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn();
+        return readJson(result);
+    }
+
+    public ProcessStatusResponse fetchStatus(String processInstanceId) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/process/{processInstanceId}", processInstanceId))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsByteArray(), ProcessStatusResponse.class);
+    }
+
+    public Map<String, Object> readJson(MvcResult result) throws Exception {
+        return objectMapper.readValue(result.getResponse().getContentAsByteArray(),
+                new TypeReference<Map<String, Object>>() {
+                });
+    }
+
+    public List<Map<String, Object>> readList(MvcResult result) throws Exception {
+        return objectMapper.readValue(result.getResponse().getContentAsByteArray(),
+                new TypeReference<List<Map<String, Object>>>() {
+                });
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.workflowdemo.archive;
+
+import com.example.workflowdemo.config.ArchiveProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArchiveStoreTests {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @Test
+    void findsInstancesThroughSegmentIndexesWhenNotCached() throws Exception {
+        ArchiveStore store = store(DataSize.ofBytes(200), 0);
+        for (int i = 0; i < 6; i++) {
+            store.append(List.of(process("process-" + i)));
+        }
+
+        assertThat(files(".idx")).hasSizeGreaterThan(1);
+        ArchiveStore uncached = store(DataSize.ofBytes(200), 0);
+        for (int i = 0; i < 6; i++) {
+            assertThat(uncached.find("process-" + i)).get()
+                    .extracting(ArchivedProcess::variables)
+                    .isEqualTo(Map.of("processStatus", "REJECTED", "index", "process-" + i));
+        }
+        assertThat(uncached.find("process-missing")).isEmpty();
+    }
+
+    @Test
+    void reopeningDropsUnindexedTail() throws Exception {
+        ArchiveStore store = store(DataSize.ofMegabytes(1), 10);
+        store.append(List.of(process("process-1")));
+        Path data = files(".jsonl.gz").get(0);
+        long indexed = Files.size(data);
+        try (FileChannel channel = FileChannel.open(data, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x1f, (byte) 0x8b, 8}));
+        }
+
+        ArchiveStore reopened = store(DataSize.ofMegabytes(1), 10);
+        assertThat(Files.size(data)).isEqualTo(indexed);
+        reopened.append(List.of(process("process-2")));
+        assertThat(store(DataSize.ofMegabytes(1), 0).find("process-1")).isPresent();
+        assertThat(store(DataSize.ofMegabytes(1), 0).find("process-2")).isPresent();
+    }
+
+    private ArchiveStore store(DataSize segmentMaxSize, int lookupCacheSize) {
+        return new ArchiveStore(new ArchiveProperties(false, directory, Duration.ofDays(7), 100,
+                segmentMaxSize, lookupCacheSize, Duration.ofHours(1)), objectMapper);
+    }
+
+    private ArchivedProcess process(String processInstanceId) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        return new ArchivedProcess(processInstanceId, "workflowDemoProcess:1", now, now, List.of(),
+                Map.of("processStatus", "REJECTED", "index", processInstanceId), List.of());
+    }
+
+    private List<Path> files(String suffix) throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(suffix)).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.workflowdemo.archive;
+
+import com.example.workflowdemo.WorkflowTestClient;
+import com.example.workflowdemo.dto.ProcessStatusResponse;
+import com.example.workflowdemo.dto.StartProcessResponse;
+import com.example.workflowdemo.process.ProcessState;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "workflow.archive.directory=target/test-archive/${random.uuid}",
+        "workflow.audit.store.directory=target/test-audit/${random.uuid}"
+})
+@AutoConfigureMockMvc
+class ProcessArchiverTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProcessArchiver processArchiver;
+
+    private WorkflowTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new WorkflowTestClient(mockMvc, objectMapper);
+    }
+
+    @Test
+    void archivedProcessStatusIsServedFromArchive() throws Exception {
+        StartProcessResponse startResponse = client.startProcess("initiator-13", "approver-13", "executor-13");
+        client.rejectTask((String) client.fetchTasks("approver", "approver-13").get(0).get("taskId"), "approver-13");
+        ProcessStatusResponse before = client.fetchStatus(startResponse.processInstanceId());
+
+        assertThat(processArchiver.archiveFinishedBefore(Instant.now().plusSeconds(1))).isPositive();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ACT_HI_ACTINST WHERE PROC_INST_ID_ = ?",
+                Integer.class, startResponse.processInstanceId())).isZero();
+        ProcessStatusResponse archived = client.fetchStatus(startResponse.processInstanceId());
+        assertThat(archived.state()).isEqualTo(ProcessState.REJECTED);
+        assertThat(archived.history()).isEqualTo(before.history());
+        assertThat(archived.variables()).containsEntry("approvalResult", "REJECTED");
+
+        Map<String, Object> page = client.fetchStatusJson(startResponse.processInstanceId(),
+                "include", "history", "historySize", "1");
+        assertThat((List<?>) page.get("history")).hasSize(1);
+        assertThat(page).containsEntry("nextHistoryOffset", 1);
+    }
+}
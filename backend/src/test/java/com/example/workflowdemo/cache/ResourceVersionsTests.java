@@ -0,0 +1,71 @@
+package com.example.workflowdemo.cache;
+
+import com.example.workflowdemo.WorkflowTestClient;
+import com.example.workflowdemo.dto.StartProcessResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "workflow.archive.directory=target/test-archive/${random.uuid}",
+        "workflow.audit.store.directory=target/test-audit/${random.uuid}"
+})
+@AutoConfigureMockMvc
+class ResourceVersionsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private WorkflowTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new WorkflowTestClient(mockMvc, objectMapper);
+    }
+
+    @Test
+    void unchangedStatusAndInboxAnswerNotModified() throws Exception {
+        StartProcessResponse startResponse = client.startProcess("initiator-16", "approver-16", "executor-16");
+        String statusTag = mockMvc.perform(get("/api/process/{processInstanceId}", startResponse.processInstanceId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        String inboxTag = mockMvc.perform(get("/api/tasks").param("role", "approver").param("userId", "approver-16"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(statusTag).isNotBlank();
+
+        mockMvc.perform(get("/api/process/{processInstanceId}", startResponse.processInstanceId())
+                        .header("If-None-Match", statusTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/process/{processInstanceId}", startResponse.processInstanceId())
+                        .param("include", "state")
+                        .header("If-None-Match", statusTag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/tasks").param("role", "approver").param("userId", "approver-16")
+                        .header("If-None-Match", inboxTag))
+                .andExpect(status().isNotModified());
+
+        client.approveTask((String) client.fetchTasks("approver", "approver-16").get(0).get("taskId"), "approver-16");
+
+        mockMvc.perform(get("/api/process/{processInstanceId}", startResponse.processInstanceId())
+                        .header("If-None-Match", statusTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(statusTag)));
+        mockMvc.perform(get("/api/tasks").param("role", "approver").param("userId", "approver-16")
+                        .header("If-None-Match", inboxTag))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.workflowdemo.cache;
+
+import com.example.workflowdemo.WorkflowTestClient;
+import com.example.workflowdemo.dto.StartProcessResponse;
+import com.example.workflowdemo.process.ProcessState;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "workflow.archive.directory=target/test-archive/${random.uuid}",
+        "workflow.audit.store.directory=target/test-audit/${random.uuid}"
+})
+@AutoConfigureMockMvc
+class WorkflowReadCacheTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private WorkflowTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new WorkflowTestClient(mockMvc, objectMapper);
+    }
+
+    @Test
+    void readCacheServesRepeatedPollsAndReportsMetrics() throws Exception {
+        StartProcessResponse startResponse = client.startProcess("initiator-5", "approver-5", "executor-5");
+        client.fetchStatus(startResponse.processInstanceId());
+        double hitsBefore = statusCacheHits();
+        client.fetchStatus(startResponse.processInstanceId());
+        assertThat(statusCacheHits()).isGreaterThan(hitsBefore);
+
+        String approvalTaskId = (String) client.fetchTasks("approver", "approver-5").get(0).get("taskId");
+        client.approveTask(approvalTaskId, "approver-5");
+        assertThat(client.fetchStatus(startResponse.processInstanceId()).state()).isEqualTo(ProcessState.MANUAL_PENDING);
+        assertThat(client.fetchTasks("approver", "approver-5")).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private double statusCacheHits() throws Exception {
+        Map<String, Object> metric = client.readJson(mockMvc.perform(get("/actuator/metrics/cache.gets")
+                        .param("tag", "cache:workflow.status")
+                        .param("tag", "result:hit"))
+                .andExpect(status().isOk())
+                .andReturn());
+        List<Map<String, Object>> measurements = (List<Map<String, Object>>) metric.get("measurements");
+        return ((Number) measurements.get(0).get("value")).doubleValue();
+    }
+}
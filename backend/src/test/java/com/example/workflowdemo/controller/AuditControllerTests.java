@@ -0,0 +1,71 @@
+package com.example.workflowdemo.controller;
+
+import com.example.workflowdemo.WorkflowTestClient;
+import com.example.workflowdemo.dto.StartProcessResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "workflow.archive.directory=target/test-archive/${random.uuid}",
+        "workflow.audit.store.directory=target/test-audit/${random.uuid}"
+})
+@AutoConfigureMockMvc
+class AuditControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private WorkflowTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new WorkflowTestClient(mockMvc, objectMapper);
+    }
+
+    @Test
+    void auditTrailIsQueryableByInstanceTaskAndOperator() throws Exception {
+        StartProcessResponse startResponse = client.startProcess("initiator-14", "approver-14", "executor-14");
+        String approvalTaskId = (String) client.fetchTasks("approver", "approver-14").get(0).get("taskId");
+        client.approveTask(approvalTaskId, "approver-14");
+
+        List<Map<String, Object>> trail = awaitAudit("processInstanceId", startResponse.processInstanceId(), "TASK_APPROVED");
+        assertThat(trail).extracting(event -> event.get("eventType")).contains("PROCESS_START", "TASK_APPROVED");
+        assertThat(awaitAudit("taskId", approvalTaskId, "TASK_APPROVED"))
+                .allSatisfy(event -> assertThat(event).containsEntry("taskId", approvalTaskId));
+        assertThat(awaitAudit("operator", "approver-14", "TASK_APPROVED"))
+                .extracting(event -> event.get("processInstanceId"))
+                .containsOnly(startResponse.processInstanceId());
+
+        mockMvc.perform(get("/api/audit"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<Map<String, Object>> awaitAudit(String param, String value, String eventType) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (true) {
+            List<Map<String, Object>> events = client.readList(mockMvc.perform(get("/api/audit").param(param, value))
+                    .andExpect(status().isOk())
+                    .andReturn());
+            if (events.stream().anyMatch(event -> eventType.equals(event.get("eventType")))
+                    || System.currentTimeMillis() > deadline) {
+                return events;
+            }
+            Thread.sleep(20);
+        }
+    }
+}
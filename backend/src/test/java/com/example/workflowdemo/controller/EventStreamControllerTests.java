@@ -0,0 +1,78 @@
+package com.example.workflowdemo.controller;
+
+import com.example.workflowdemo.WorkflowTestClient;
+import com.example.workflowdemo.dto.StartProcessResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest(properties = {
+        "workflow.archive.directory=target/test-archive/${random.uuid}",
+        "workflow.audit.store.directory=target/test-audit/${random.uuid}"
+})
+@AutoConfigureMockMvc
+class EventStreamControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private WorkflowTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new WorkflowTestClient(mockMvc, objectMapper);
+    }
+
+    @Test
+    void eventStreamPushesInboxChangesAndResumes() throws Exception {
+        MvcResult inboxStream = mockMvc.perform(get("/api/events/tasks")
+                        .param("role", "approver")
+                        .param("userId", "approver-8"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        StartProcessResponse startResponse = client.startProcess("initiator-8", "approver-8", "executor-8");
+        String taskId = startResponse.currentTask().taskId();
+        String inboxContent = awaitContent(inboxStream, "event:TASK_CREATED");
+        assertThat(inboxContent).contains(taskId);
+
+        Matcher eventId = Pattern.compile("id:(\\d+)\\nevent:TASK_CREATED").matcher(inboxContent);
+        assertThat(eventId.find()).isTrue();
+        long createdId = Long.parseLong(eventId.group(1));
+
+        MvcResult resumed = mockMvc.perform(get("/api/events/process/{processInstanceId}", startResponse.processInstanceId())
+                        .header(EventStreamController.LAST_EVENT_ID_HEADER, Long.toString(createdId - 1)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(awaitContent(resumed, "id:" + createdId)).contains(taskId);
+
+        client.approveTask(taskId, "approver-8");
+        assertThat(awaitContent(inboxStream, "event:TASK_COMPLETED")).contains(taskId);
+    }
+
+    private String awaitContent(MvcResult stream, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String content = stream.getResponse().getContentAsString();
+        while (!(content.contains(expected) && content.endsWith("\n\n")) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = stream.getResponse().getContentAsString();
+        }
+        assertThat(content).contains(expected);
+        return content;
+    }
+}
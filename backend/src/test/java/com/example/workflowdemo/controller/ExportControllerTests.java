@@ -0,0 +1,122 @@
+package com.example.workflowdemo.controller;
+
+import com.example.workflowdemo.WorkflowTestClient;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "workflow.export.page-size=1",
+        "workflow.archive.directory=target/test-archive/${random.uuid}",
+        "workflow.audit.store.directory=target/test-audit/${random.uuid}"
+})
+@AutoConfigureMockMvc
+class ExportControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private WorkflowTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new WorkflowTestClient(mockMvc, objectMapper);
+    }
+
+    @Test
+    void taskExportPagesThroughTheCallersInboxOnly() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            client.startProcess("initiator-12", "approver-12", "executor-12");
+        }
+        client.startProcess("initiator-12", "approver-12b", "executor-12");
+        List<Object> inbox = client.fetchTasks("approver", "approver-12").stream()
+                .map(task -> task.get("taskId"))
+                .toList();
+
+        List<JsonNode> rows = export(get("/api/export/tasks")
+                .param("role", "approver")
+                .param("userId", "approver-12"));
+
+        assertThat(rows).extracting(row -> (Object) row.get("taskId").asText())
+                .containsExactlyInAnyOrderElementsOf(inbox);
+        assertThat(rows).allSatisfy(row -> {
+            assertThat(row.get("assignee").asText()).isEqualTo("approver-12");
+            assertThat(row.get("payload").get("amount").asInt()).isEqualTo(100);
+        });
+
+        mockMvc.perform(get("/api/export/tasks").param("role", "approver"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void historyExportPagesThroughTheCallersInstancesOnly() throws Exception {
+        OffsetDateTime from = OffsetDateTime.now(ZoneOffset.UTC).minusMinutes(1);
+        List<String> own = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            own.add(client.startProcess("initiator-13", "approver-13", "executor-13").processInstanceId());
+        }
+        client.approveTask((String) client.fetchTasks("approver", "approver-13").get(0).get("taskId"), "approver-13");
+        client.startProcess("initiator-13b", "approver-13b", "executor-13b");
+
+        List<JsonNode> rows = export(get("/api/export/history")
+                .param("userId", "executor-13")
+                .param("from", from.toString())
+                .param("to", OffsetDateTime.now(ZoneOffset.UTC).plusMinutes(1).toString()));
+
+        List<String> expected = new NamedParameterJdbcTemplate(jdbcTemplate).queryForList(
+                "SELECT ID_ FROM ACT_HI_ACTINST WHERE PROC_INST_ID_ IN (:ids)", Map.of("ids", own), String.class);
+        assertThat(expected).hasSizeGreaterThan(own.size());
+        assertThat(rows).extracting(row -> row.get("activityInstanceId").asText())
+                .containsExactlyInAnyOrderElementsOf(expected);
+
+        mockMvc.perform(get("/api/export/history")
+                        .param("userId", "executor-13")
+                        .param("from", from.toString())
+                        .param("to", from.minusMinutes(1).toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<JsonNode> export(MockHttpServletRequestBuilder requestBuilder) throws Exception {
+        MvcResult started = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String content = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_NDJSON_VALUE))
+                .andReturn().getResponse().getContentAsString();
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : content.lines().toList()) {
+            rows.add(objectMapper.readTree(line));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.workflowdemo.controller;
+
+import com.example.workflowdemo.WorkflowTestClient;
+import com.example.workflowdemo.dto.StartProcessResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "workflow.archive.directory=target/test-archive/${random.uuid}",
+        "workflow.audit.store.directory=target/test-audit/${random.uuid}"
+})
+@AutoConfigureMockMvc
+class ProcessControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RepositoryService repositoryService;
+
+    @Autowired
+    private RuntimeService runtimeService;
+
+    private WorkflowTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new WorkflowTestClient(mockMvc, objectMapper);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void batchStartReportsPerItemOutcome() throws Exception {
+        String body = objectMapper.writeValueAsString(List.of(
+                Map.of("initiator", "initiator-19", "approverId", "approver-19", "executorId", "executor-19"),
+                Map.of("initiator", "initiator-19", "approverId", "", "executorId", "executor-19"),
+                Map.of("initiator", "initiator-19", "approverId", "approver-19", "executorId", "executor-19",
+                        "payload", Map.of("amount", 5))
+        ));
+
+        MvcResult result = mockMvc.perform(post("/api/process/start/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn();
+        Map<String, Object> response = client.readJson(result);
+
+        assertThat(response).containsEntry("succeeded", 2).containsEntry("failed", 1);
+        List<Map<String, Object>> items = (List<Map<String, Object>>) response.get("items");
+        assertThat(items.get(1).get("error")).isEqualTo("Field 'approverId' cannot be blank");
+        assertThat(items.get(0).get("result")).isNotNull();
+        assertThat(client.fetchTasks("approver", "approver-19")).hasSize(2);
+    }
+
+    @Test
+    void startPicksUpNewlyDeployedVersion() throws Exception {
+        client.startProcess("initiator-20", "approver-20", "executor-20");
+        String redeployed = repositoryService.createDeployment()
+                .name("workflow-demo-redeploy")
+                .addClasspathResource("processes/workflow-demo.bpmn")
+                .deployWithResult()
+                .getDeployedProcessDefinitions().get(0).getId();
+
+        StartProcessResponse started = client.startProcess("initiator-20", "approver-20", "executor-20");
+
+        assertThat(runtimeService.createProcessInstanceQuery()
+                .processInstanceId(started.processInstanceId()).singleResult().getProcessDefinitionId())
+                .isEqualTo(redeployed);
+    }
+
+    @Test
+    void statusReturnsRequestedSectionsAndPagesHistory() throws Exception {
+        StartProcessResponse startResponse = client.startProcess("initiator-11", "approver-11", "executor-11");
+        client.approveTask((String) client.fetchTasks("approver", "approver-11").get(0).get("taskId"), "approver-11");
+
+        Map<String, Object> slim = client.fetchStatusJson(startResponse.processInstanceId(), "include", "state,currentTask");
+        assertThat(slim).containsEntry("state", "MANUAL_PENDING").containsKey("currentTask")
+                .doesNotContainKeys("history", "variables", "nextHistoryOffset");
+
+        Map<String, Object> firstPage = client.fetchStatusJson(startResponse.processInstanceId(),
+                "include", "history", "historySize", "2");
+        assertThat((List<?>) firstPage.get("history")).hasSize(2);
+        assertThat(firstPage).containsEntry("nextHistoryOffset", 2)
+                .doesNotContainKeys("currentTask", "variables");
+
+        assertThat(client.fetchStatusJson(startResponse.processInstanceId(), "include", "state"))
+                .containsEntry("state", "MANUAL_PENDING")
+                .doesNotContainKeys("currentTask", "history", "variables", "nextHistoryOffset");
+
+        Map<String, Object> secondPage = client.fetchStatusJson(startResponse.processInstanceId(),
+                "include", "history", "historySize", "2", "historyOffset", "2");
+        assertThat((List<?>) secondPage.get("history")).hasSize(2);
+
+        mockMvc.perform(get("/api/process/{processInstanceId}", startResponse.processInstanceId())
+                        .param("include", "everything"))
+                .andExpect(status().isBadRequest());
+    }
+}
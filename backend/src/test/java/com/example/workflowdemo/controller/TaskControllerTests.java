@@ -0,0 +1,157 @@
+package com.example.workflowdemo.controller;
+
+import com.example.workflowdemo.WorkflowTestClient;
+import com.example.workflowdemo.dto.StartProcessResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "workflow.archive.directory=target/test-archive/${random.uuid}",
+        "workflow.audit.store.directory=target/test-audit/${random.uuid}"
+})
+@AutoConfigureMockMvc
+class TaskControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private WorkflowTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new WorkflowTestClient(mockMvc, objectMapper);
+    }
+
+    @Test
+    void inboxFiltersAndSortsOnPromotedPayloadFields() throws Exception {
+        StartProcessResponse first = client.startProcess("initiator-10", "approver-10", "executor-10",
+                Map.of("amount", 50, "department", "finance"));
+        client.startProcess("initiator-10", "approver-10", "executor-10", Map.of("amount", 500, "department", "ops"));
+        client.startProcess("initiator-10", "approver-10", "executor-10", Map.of("amount", 5000, "department", "finance"));
+        client.startProcess("initiator-10", "approver-10", "executor-10", Map.of("department", "finance"));
+
+        assertThat(amounts(mockMvc.perform(get("/api/tasks")
+                        .param("role", "approver").param("userId", "approver-10")
+                        .param("filter", "amount:gte:100"))
+                .andExpect(status().isOk()).andReturn()))
+                .containsExactlyInAnyOrder(500, 5000);
+
+        assertThat(amounts(mockMvc.perform(get("/api/tasks")
+                        .param("role", "approver").param("userId", "approver-10")
+                        .param("filter", "department:eq:finance")
+                        .param("sort", "amount:desc"))
+                .andExpect(status().isOk()).andReturn()))
+                .containsExactly(5000, 50, null);
+
+        MvcResult firstPage = mockMvc.perform(get("/api/tasks")
+                        .param("role", "approver").param("userId", "approver-10")
+                        .param("sort", "amount:asc").param("size", "2"))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(amounts(firstPage)).containsExactly(50, 500);
+        MvcResult secondPage = mockMvc.perform(get("/api/tasks")
+                        .param("role", "approver").param("userId", "approver-10")
+                        .param("sort", "amount:asc").param("size", "2")
+                        .param("cursor", firstPage.getResponse().getHeader(TaskController.NEXT_CURSOR_HEADER)))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(amounts(secondPage)).containsExactly(5000, null);
+
+        mockMvc.perform(get("/api/tasks")
+                        .param("role", "approver").param("userId", "approver-10")
+                        .param("filter", "unknown:eq:1"))
+                .andExpect(status().isBadRequest());
+
+        assertThat(client.fetchStatus(first.processInstanceId()).variables())
+                .containsKey("payload")
+                .doesNotContainKeys("payload.amount", "payload.department");
+    }
+
+    @Test
+    void inboxPagesWithKeysetCursor() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            client.startProcess("initiator-3", "approver-3", "executor-3");
+        }
+
+        MvcResult firstPage = mockMvc.perform(get("/api/tasks")
+                        .param("role", "approver")
+                        .param("userId", "approver-3")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(TaskController.NEXT_CURSOR_HEADER))
+                .andReturn();
+        List<Map<String, Object>> firstItems = client.readList(firstPage);
+        assertThat(firstItems).hasSize(2);
+        assertThat(firstItems.get(0).get("payload")).isEqualTo(Map.of("amount", 100));
+
+        MvcResult secondPage = mockMvc.perform(get("/api/tasks")
+                        .param("role", "approver")
+                        .param("userId", "approver-3")
+                        .param("size", "2")
+                        .param("cursor", firstPage.getResponse().getHeader(TaskController.NEXT_CURSOR_HEADER)))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(TaskController.NEXT_CURSOR_HEADER))
+                .andReturn();
+        List<Map<String, Object>> secondItems = client.readList(secondPage);
+        assertThat(secondItems).hasSize(1);
+        assertThat(secondItems.get(0).get("taskId"))
+                .isNotIn(firstItems.get(0).get("taskId"), firstItems.get(1).get("taskId"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bulkApproveReportsPerTaskOutcome() throws Exception {
+        client.startProcess("initiator-7", "approver-7", "executor-7");
+        client.startProcess("initiator-7", "approver-7", "executor-7");
+        List<Object> taskIds = client.fetchTasks("approver", "approver-7").stream()
+                .map(task -> task.get("taskId"))
+                .collect(Collectors.toList());
+        taskIds.add(1, "missing-task");
+
+        String body = objectMapper.writeValueAsString(Map.of(
+                "action", "approve",
+                "taskIds", taskIds,
+                "userId", "approver-7",
+                "comment", "Bulk approved"
+        ));
+        MvcResult result = mockMvc.perform(post("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn();
+        Map<String, Object> response = client.readJson(result);
+
+        assertThat(response).containsEntry("succeeded", 2).containsEntry("failed", 1);
+        List<Map<String, Object>> items = (List<Map<String, Object>>) response.get("items");
+        assertThat(items.get(1).get("error")).isEqualTo("Task not found: missing-task");
+        assertThat(client.fetchTasks("approver", "approver-7")).isEmpty();
+        assertThat(client.fetchTasks("executor", "executor-7")).hasSize(2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> amounts(MvcResult result) throws Exception {
+        return client.readList(result).stream()
+                .map(task -> ((Map<String, Object>) task.get("payload")).get("amount"))
+                .toList();
+    }
+}
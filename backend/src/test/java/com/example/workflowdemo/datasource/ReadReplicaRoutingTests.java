@@ -0,0 +1,101 @@
+package com.example.workflowdemo.datasource;
+
+import com.example.workflowdemo.config.ReplicaProperties;
+import com.example.workflowdemo.dto.StartProcessRequest;
+import com.example.workflowdemo.process.ProcessState;
+import com.example.workflowdemo.service.ProcessService;
+import com.example.workflowdemo.service.ProcessStatusService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "workflow.replica.enabled=true",
+        "workflow.replica.url=" + ReadReplicaRoutingTests.REPLICA_URL,
+        "workflow.replica.stickiness=2500ms",
+        "workflow.replica.max-lag=1s",
+        "workflow.replica.heartbeat-interval=1s",
+        "workflow.cache.enabled=false",
+        "workflow.archive.directory=target/test-archive/${random.uuid}",
+        "workflow.audit.store.directory=target/test-audit/${random.uuid}"
+})
+class ReadReplicaRoutingTests {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Autowired
+    private JdbcTemplate primary;
+
+    @Autowired
+    private ReadRouting readRouting;
+
+    @Autowired
+    private ProcessService processService;
+
+    @Autowired
+    private ProcessStatusService statusService;
+
+    @Test
+    void readsGoToCaughtUpReplicaExceptForRecentWritesAndLag() throws Exception {
+        readRouting.heartbeat();
+        replicate();
+        readRouting.heartbeat();
+
+        String processInstanceId = processService.startProcess(new StartProcessRequest(
+                "initiator-r", "approver-r", "executor-r", Map.of())).processInstanceId();
+        // the replica has not seen the instance yet, so only the primary can answer
+        assertThat(statusService.getStatus(processInstanceId).state()).isEqualTo(ProcessState.APPROVAL_PENDING);
+
+        replicate();
+        replica.update("UPDATE workflow_process_status SET state = ? WHERE process_instance_id = ?",
+                ProcessState.REJECTED.name(), processInstanceId);
+        Thread.sleep(2700);
+        catchUp();
+        assertThat(statusService.getStatus(processInstanceId).state()).isEqualTo(ProcessState.REJECTED);
+
+        replica.update("UPDATE workflow_replica_heartbeat SET beat = ?", Timestamp.from(Instant.now().minusSeconds(120)));
+        readRouting.heartbeat();
+        assertThat(statusService.getStatus(processInstanceId).state()).isEqualTo(ProcessState.APPROVAL_PENDING);
+    }
+
+    @Test
+    void stickinessMustOutlastMaxLagAndHeartbeat() {
+        assertThatThrownBy(() -> new ReplicaProperties(true, REPLICA_URL, "sa", "", 10,
+                Duration.ofSeconds(3), Duration.ofSeconds(2), Duration.ofSeconds(1), 100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void catchUp() {
+        replica.update("UPDATE workflow_replica_heartbeat SET beat = ?", Timestamp.from(Instant.now()));
+        readRouting.heartbeat();
+    }
+
+    private void replicate() {
+        List<String> script = primary.queryForList("SCRIPT", String.class);
+        replica.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP ALL OBJECTS");
+                for (String sql : script) {
+                    statement.execute(sql);
+                }
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.workflowdemo.engine;
+
+import com.example.workflowdemo.dto.TaskOperationResponse;
+import com.example.workflowdemo.process.ProcessState;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.task.Task;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "workflow.engine.async-after-user-tasks=true")
+@AutoConfigureMockMvc
+class AsyncContinuationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RuntimeService runtimeService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    void approvalReturnsBeforeRoutingAndJobExecutorCreatesManualTask() throws Exception {
+        String processInstanceId = runtimeService.startProcessInstanceByKey("workflowDemoProcess", Map.of(
+                "initiator", "initiator-a", "approverId", "approver-a", "executorId", "executor-a")).getId();
+        Task approvalTask = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+
+        String body = mockMvc.perform(post("/api/tasks/{taskId}/approve", approvalTask.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("userId", "approver-a"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        TaskOperationResponse response = objectMapper.readValue(body, TaskOperationResponse.class);
+        assertThat(response.nextState()).isEqualTo(ProcessState.MANUAL_PENDING);
+        assertThat(response.transitionPending()).isTrue();
+
+        Task manualTask = null;
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (manualTask == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+            manualTask = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+        }
+        assertThat(manualTask).isNotNull();
+        assertThat(manualTask.getTaskDefinitionKey()).isEqualTo("manualTask");
+    }
+}
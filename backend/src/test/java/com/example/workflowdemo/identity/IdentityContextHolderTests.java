@@ -0,0 +1,40 @@
+package com.example.workflowdemo.identity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdentityContextHolderTests {
+
+    @Test
+    void nestedBindingRestoresOuterIdentity() {
+        IdentityContextHolder.Binding outer = IdentityContextHolder.bind("outer", Set.of("approver"));
+        IdentityContextHolder.Binding inner = IdentityContextHolder.bind("inner", Set.of());
+        assertThat(IdentityContextHolder.requireUserId(null)).isEqualTo("inner");
+        inner.restore();
+        assertThat(IdentityContextHolder.requireUserId(null)).isEqualTo("outer");
+        outer.restore();
+        assertThat(IdentityContextHolder.get()).isEmpty();
+    }
+
+    @Test
+    void wrappedTaskSeesCallerIdentityOnVirtualThread() throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            String seen;
+            IdentityContextHolder.Binding binding = IdentityContextHolder.bind("caller", Set.of("executor"));
+            try {
+                seen = executor.submit(IdentityContextHolder.wrap(() -> IdentityContextHolder.requireUserId(null))).get();
+            } finally {
+                binding.restore();
+            }
+            String unbound = executor.submit(() -> IdentityContextHolder.get().isPresent() ? "leaked" : "none").get();
+
+            assertThat(seen).isEqualTo("caller");
+            assertThat(unbound).isEqualTo("none");
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.workflowdemo.load;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a weighted mix of REST calls against a running instance, either open-loop at a
+ * fixed arrival rate or closed-loop with a fixed number of busy workers. Tasks created
+ * by earlier calls feed the approve/reject/complete operations; when none are available
+ * the call falls back to a start or an executor inbox read.
+ */
+final class LoadDriver {
+
+    static final String OPTIMISTIC_LOCKING = "optimistic locking conflict";
+
+    private static final int KNOWN_PROCESSES = 1024;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+    private final LoadSettings settings;
+    private final LoadReport report;
+    private final LoadOperation[] operations;
+    private final int[] cumulativeWeights;
+    private final Queue<PendingTask> approvals = new ConcurrentLinkedQueue<>();
+    private final Queue<PendingTask> manualTasks = new ConcurrentLinkedQueue<>();
+    private final Set<String> seenManualTasks = ConcurrentHashMap.newKeySet();
+    private final AtomicReferenceArray<String> processIds = new AtomicReferenceArray<>(KNOWN_PROCESSES);
+    private final AtomicLong startedProcesses = new AtomicLong();
+
+    LoadDriver(URI baseUri, ObjectMapper objectMapper, LoadSettings settings, LoadReport report) {
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.settings = settings;
+        this.report = report;
+        this.operations = settings.mix().keySet().toArray(LoadOperation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += settings.mix().get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    Duration run() throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(settings.concurrency());
+        long startNanos = System.nanoTime();
+        long warmupEnd = startNanos + settings.warmup().toNanos();
+        long end = warmupEnd + settings.duration().toNanos();
+        try {
+            if (settings.openLoop()) {
+                long interval = TimeUnit.SECONDS.toNanos(1) / settings.ratePerSecond();
+                for (long intended = startNanos; intended < end; intended += interval) {
+                    long wait = intended - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    long scheduled = intended;
+                    workers.execute(() -> execute(scheduled, scheduled >= warmupEnd));
+                }
+            } else {
+                for (int i = 0; i < settings.concurrency(); i++) {
+                    workers.execute(() -> {
+                        long now;
+                        while ((now = System.nanoTime()) < end) {
+                            execute(now, now >= warmupEnd);
+                        }
+                    });
+                }
+            }
+        } finally {
+            workers.shutdown();
+            if (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+                // requests still queued behind an overloaded server would keep recording while the report is written
+                workers.shutdownNow();
+                workers.awaitTermination(10, TimeUnit.SECONDS);
+            }
+        }
+        return settings.duration();
+    }
+
+    private void execute(long intendedNanos, boolean recorded) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LoadOperation operation = pick(random);
+        PendingTask task = null;
+        if (operation == LoadOperation.APPROVE || operation == LoadOperation.REJECT) {
+            task = take(approvals, random);
+            operation = task != null ? operation : LoadOperation.START;
+        } else if (operation == LoadOperation.COMPLETE) {
+            task = take(manualTasks, random);
+            operation = task != null ? operation : LoadOperation.INBOX;
+        }
+        String processId = null;
+        if (operation == LoadOperation.STATUS) {
+            processId = knownProcess(random);
+            operation = processId != null ? operation : LoadOperation.START;
+        }
+
+        String failure;
+        try {
+            failure = switch (operation) {
+                case START -> start(random);
+                case INBOX -> inbox(random);
+                case APPROVE -> decide(task, "approve", Map.of("comment", "Approved under load"), "approver");
+                case REJECT -> decide(task, "reject", Map.of("reason", "Rejected under load"), "approver");
+                case COMPLETE -> decide(task, "complete", Map.of("comment", "Completed under load"), "executor");
+                case STATUS -> status(processId);
+            };
+        } catch (IOException ex) {
+            failure = "exception " + ex.getClass().getSimpleName();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        if (recorded) {
+            long latency = System.nanoTime() - intendedNanos;
+            if (failure == null) {
+                report.success(operation, latency);
+            } else {
+                report.failure(operation, latency, failure);
+            }
+        }
+    }
+
+    private String start(ThreadLocalRandom random) throws IOException, InterruptedException {
+        int user = random.nextInt(settings.users());
+        String initiator = "load-initiator-" + user;
+        String approver = "load-approver-" + user;
+        String executor = "load-executor-" + random.nextInt(settings.users());
+        HttpResponse<String> response = send(post("/api/process/start", Map.of(
+                "initiator", initiator,
+                "approverId", approver,
+                "executorId", executor,
+                "payload", Map.of("amount", random.nextInt(10_000))), initiator, "initiator"));
+        if (response.statusCode() != 200) {
+            return describe(response);
+        }
+        Map<String, Object> body = objectMapper.readValue(response.body(), new TypeReference<>() {
+        });
+        String processInstanceId = (String) body.get("processInstanceId");
+        processIds.set((int) (startedProcesses.getAndIncrement() % KNOWN_PROCESSES), processInstanceId);
+        if (body.get("currentTask") instanceof Map<?, ?> currentTask) {
+            approvals.add(new PendingTask((String) currentTask.get("taskId"), approver));
+        }
+        return null;
+    }
+
+    private String inbox(ThreadLocalRandom random) throws IOException, InterruptedException {
+        boolean executor = random.nextBoolean();
+        String role = executor ? "executor" : "approver";
+        String userId = "load-" + role + "-" + random.nextInt(settings.users());
+        HttpResponse<String> response = send(request("/api/tasks?role=" + role + "&userId="
+                + URLEncoder.encode(userId, StandardCharsets.UTF_8), userId, role).GET().build());
+        if (response.statusCode() != 200) {
+            return describe(response);
+        }
+        if (executor) {
+            List<Map<String, Object>> items = objectMapper.readValue(response.body(), new TypeReference<>() {
+            });
+            for (Map<String, Object> item : items) {
+                String taskId = (String) item.get("taskId");
+                if (seenManualTasks.add(taskId)) {
+                    manualTasks.add(new PendingTask(taskId, userId));
+                }
+            }
+        }
+        return null;
+    }
+
+    private String decide(PendingTask task, String action, Map<String, Object> body, String role)
+            throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post("/api/tasks/" + task.taskId() + "/" + action, body,
+                task.assignee(), role));
+        return response.statusCode() == 200 ? null : describe(response);
+    }
+
+    private String status(String processInstanceId) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(request("/api/process/" + processInstanceId,
+                "load-observer", "initiator").GET().build());
+        return response.statusCode() == 200 ? null : describe(response);
+    }
+
+    private HttpRequest post(String path, Object body, String userId, String role) throws IOException {
+        return request(path, userId, role)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, String userId, String role) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("X-User-Id", userId)
+                .header("X-User-Roles", role);
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String describe(HttpResponse<String> response) {
+        if (response.statusCode() == 409) {
+            return OPTIMISTIC_LOCKING + " (409)";
+        }
+        String error = response.body();
+        try {
+            Object message = objectMapper.readValue(response.body(), Map.class).get("error");
+            error = message != null ? message.toString() : error;
+        } catch (IOException ignored) {
+            // keep the raw body
+        }
+        // task ids vary per call; strip them so identical failures group together
+        error = error.replaceAll("[0-9a-f]{8}-[0-9a-f-]{27}", "<id>");
+        return "HTTP " + response.statusCode() + ": " + (error.length() > 80 ? error.substring(0, 80) : error);
+    }
+
+    private LoadOperation pick(ThreadLocalRandom random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private PendingTask take(Queue<PendingTask> queue, ThreadLocalRandom random) {
+        // leaving a task in the queue lets a second worker race for it, which exercises conflicts
+        return random.nextDouble() < settings.duplicateDecisionRatio() ? queue.peek() : queue.poll();
+    }
+
+    private String knownProcess(ThreadLocalRandom random) {
+        long started = startedProcesses.get();
+        if (started == 0) {
+            return null;
+        }
+        return processIds.get(random.nextInt((int) Math.min(started, KNOWN_PROCESSES)));
+    }
+
+    private record PendingTask(String taskId, String assignee) {
+    }
+}
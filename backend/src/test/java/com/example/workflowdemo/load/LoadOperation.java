@@ -0,0 +1,10 @@
+package com.example.workflowdemo.load;
+
+enum LoadOperation {
+    START,
+    INBOX,
+    APPROVE,
+    REJECT,
+    COMPLETE,
+    STATUS
+}
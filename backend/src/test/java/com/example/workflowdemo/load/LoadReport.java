@@ -0,0 +1,109 @@
+package com.example.workflowdemo.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms (microseconds) and error counts. Latency is taken from
+ * the intended send time in open-loop runs, so queueing behind slow calls is included.
+ */
+final class LoadReport {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Map<LoadOperation, Histogram> latencies = new EnumMap<>(LoadOperation.class);
+    private final Map<LoadOperation, LongAdder> errorCounts = new EnumMap<>(LoadOperation.class);
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    LoadReport() {
+        for (LoadOperation operation : LoadOperation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3));
+            errorCounts.put(operation, new LongAdder());
+        }
+    }
+
+    void success(LoadOperation operation, long latencyNanos) {
+        record(operation, latencyNanos);
+    }
+
+    void failure(LoadOperation operation, long latencyNanos, String reason) {
+        record(operation, latencyNanos);
+        errorCounts.get(operation).increment();
+        errors.computeIfAbsent(operation + " " + reason, key -> new LongAdder()).increment();
+    }
+
+    long totalRequests() {
+        return latencies.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    long requests(LoadOperation operation) {
+        return latencies.get(operation).getTotalCount();
+    }
+
+    long optimisticLockingFailures() {
+        return errors.entrySet().stream()
+                .filter(entry -> entry.getKey().contains(LoadDriver.OPTIMISTIC_LOCKING))
+                .mapToLong(entry -> entry.getValue().sum())
+                .sum();
+    }
+
+    void print(PrintStream out, Duration measured) {
+        double seconds = Math.max(1, measured.toMillis()) / 1000.0;
+        out.printf("%-9s %9s %8s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (LoadOperation operation : LoadOperation.values()) {
+            Histogram histogram = latencies.get(operation);
+            out.printf("%-9s %9d %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    operation.name().toLowerCase(),
+                    histogram.getTotalCount(),
+                    errorCounts.get(operation).sum(),
+                    histogram.getTotalCount() / seconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+        if (!errors.isEmpty()) {
+            out.println();
+            out.println("errors:");
+            new TreeMap<>(errors).forEach((reason, count) -> out.printf("  %8d  %s%n", count.sum(), reason));
+        }
+    }
+
+    void write(Path directory, Duration measured) throws IOException {
+        Files.createDirectories(directory);
+        try (PrintStream summary = new PrintStream(Files.newOutputStream(directory.resolve("summary.txt")),
+                true, StandardCharsets.UTF_8)) {
+            print(summary, measured);
+        }
+        for (LoadOperation operation : LoadOperation.values()) {
+            Path file = directory.resolve(operation.name().toLowerCase() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file), true, StandardCharsets.UTF_8)) {
+                latencies.get(operation).outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private void record(LoadOperation operation, long latencyNanos) {
+        long micros = Math.min(MAX_TRACKABLE_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        latencies.get(operation).recordValue(micros);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
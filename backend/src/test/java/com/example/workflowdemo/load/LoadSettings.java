@@ -0,0 +1,47 @@
+package com.example.workflowdemo.load;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load test knobs, read from system properties so they can be passed on the Maven
+ * command line, e.g. {@code -Dload.concurrency=64 -Dload.rate=500}.
+ */
+record LoadSettings(
+        int concurrency,
+        int ratePerSecond,
+        Duration warmup,
+        Duration duration,
+        int users,
+        double duplicateDecisionRatio,
+        Map<LoadOperation, Integer> mix
+) {
+
+    static LoadSettings fromSystemProperties() {
+        return new LoadSettings(
+                Integer.getInteger("load.concurrency", 16),
+                Integer.getInteger("load.rate", 200),
+                Duration.parse(System.getProperty("load.warmup", "PT5S")),
+                Duration.parse(System.getProperty("load.duration", "PT30S")),
+                Integer.getInteger("load.users", 20),
+                Double.parseDouble(System.getProperty("load.duplicateDecisionRatio", "0.05")),
+                parseMix(System.getProperty("load.mix", "start=20,inbox=35,approve=12,reject=5,complete=10,status=18")));
+    }
+
+    boolean openLoop() {
+        return ratePerSecond > 0;
+    }
+
+    private static Map<LoadOperation, Integer> parseMix(String value) {
+        Map<LoadOperation, Integer> mix = new EnumMap<>(LoadOperation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid load.mix entry: " + entry);
+            }
+            mix.put(LoadOperation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+}
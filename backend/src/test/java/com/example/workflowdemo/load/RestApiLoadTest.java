@@ -0,0 +1,42 @@
+package com.example.workflowdemo.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Full-stack load run, excluded from the default build. Run with {@code mvn -Pload test};
+ * settings are described in {@link LoadSettings}. The report is printed and written to
+ * {@code target/load-report}, with one HdrHistogram percentile file per endpoint.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class RestApiLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void mixedWorkload() throws Exception {
+        LoadSettings settings = LoadSettings.fromSystemProperties();
+        LoadReport report = new LoadReport();
+
+        Duration measured = new LoadDriver(URI.create("http://localhost:" + port), objectMapper, settings, report).run();
+
+        report.print(System.out, measured);
+        report.write(Path.of("target", "load-report"), measured);
+        assertThat(report.requests(LoadOperation.START)).isPositive();
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.workflowdemo.logging;
+
+import com.example.workflowdemo.config.AuditProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncAuditPipelineTests {
+
+    private static final int BUFFER_SIZE = 16;
+
+    @TempDir
+    Path spillDirectory;
+
+    @Test
+    void dropPolicyCountsOverflowAndFlushesOnStop() throws Exception {
+        BlockingSink sink = new BlockingSink();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AsyncAuditPipeline pipeline = pipeline(sink, AuditProperties.FullPolicy.DROP, registry);
+        pipeline.start();
+
+        pipeline.publish(event(0));
+        assertThat(sink.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 1; i <= BUFFER_SIZE + 5; i++) {
+            pipeline.publish(event(i));
+        }
+        assertThat(registry.get("workflow.audit.dropped").counter().count()).isEqualTo(5);
+        assertThat(registry.get("workflow.audit.queue.depth").gauge().value()).isEqualTo(BUFFER_SIZE);
+
+        sink.release.countDown();
+        pipeline.stop();
+
+        assertThat(sink.events).hasSize(BUFFER_SIZE + 1);
+        assertThat(registry.get("workflow.audit.queue.depth").gauge().value()).isZero();
+    }
+
+    @Test
+    void spillPolicyReplaysOverflowInsteadOfDropping() throws Exception {
+        BlockingSink sink = new BlockingSink();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AsyncAuditPipeline pipeline = pipeline(sink, AuditProperties.FullPolicy.SPILL, registry);
+        pipeline.start();
+
+        pipeline.publish(event(0));
+        assertThat(sink.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 1; i <= BUFFER_SIZE + 5; i++) {
+            pipeline.publish(event(i));
+        }
+        assertThat(registry.get("workflow.audit.spilled").counter().count()).isEqualTo(5);
+
+        sink.release.countDown();
+        pipeline.stop();
+
+        assertThat(sink.events).hasSize(BUFFER_SIZE + 6);
+        assertThat(registry.get("workflow.audit.dropped").counter().count()).isZero();
+    }
+
+    @Test
+    void publishersRacingStopLoseNoEvents() throws Exception {
+        BlockingSink sink = new BlockingSink();
+        sink.release.countDown();
+        AsyncAuditPipeline pipeline = pipeline(sink, AuditProperties.FullPolicy.BLOCK, new SimpleMeterRegistry());
+        pipeline.start();
+
+        int publishers = 4;
+        int perPublisher = 2_000;
+        CountDownLatch started = new CountDownLatch(publishers);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < publishers; p++) {
+            Thread thread = new Thread(() -> {
+                started.countDown();
+                for (int i = 0; i < perPublisher; i++) {
+                    pipeline.publish(event(i));
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        pipeline.stop();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        assertThat(sink.events).hasSize(publishers * perPublisher);
+    }
+
+    private AsyncAuditPipeline pipeline(AuditSink sink, AuditProperties.FullPolicy policy, SimpleMeterRegistry registry) {
+        AuditProperties properties = new AuditProperties(AuditProperties.Mode.ASYNC, BUFFER_SIZE, 4, policy,
+                spillDirectory, Duration.ofSeconds(5), null);
+        return new AsyncAuditPipeline(List.of(sink), properties, new ObjectMapper(), registry);
+    }
+
+    private AuditEvent event(int sequence) {
+        return new AuditEvent(AuditEvent.Category.OPERATION, "TEST_" + sequence, "process-" + sequence,
+                null, null, null, null, null, null, "tester", "OK", System.currentTimeMillis());
+    }
+
+    private static final class BlockingSink implements AuditSink {
+
+        private final List<AuditEvent> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void write(List<AuditEvent> batch) {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            events.addAll(batch);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.workflowdemo.logging;
+
+import com.example.workflowdemo.config.AuditProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuditStoreTests {
+
+    private static final long NOW = Instant.parse("2026-01-31T00:00:00Z").toEpochMilli();
+    private static final long DAY = Duration.ofDays(1).toMillis();
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void rollsOverBySizeAndFindsEventsAcrossSegments() throws Exception {
+        AuditStore store = store(DataSize.ofBytes(600));
+        for (int i = 0; i < 20; i++) {
+            store.write(List.of(event("process-" + (i % 2), "task-" + i, "operator-" + (i % 3), NOW - i)));
+        }
+
+        assertThat(segmentLogs()).hasSizeGreaterThan(2);
+        assertThat(store.find("process-0", null, null, 100)).hasSize(10)
+                .extracting(AuditEvent::taskId)
+                .containsExactly("task-0", "task-2", "task-4", "task-6", "task-8",
+                        "task-10", "task-12", "task-14", "task-16", "task-18");
+        assertThat(store.find(null, "task-7", null, 100)).singleElement()
+                .extracting(AuditEvent::processInstanceId).isEqualTo("process-1");
+        assertThat(store.find("process-1", null, "operator-0", 2)).extracting(AuditEvent::taskId)
+                .containsExactly("task-3", "task-9");
+        assertThatThrownBy(() -> store.find(null, null, null, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void reopeningIndexesUnindexedRecordsAndDropsTornTail() throws Exception {
+        AuditStore store = store(DataSize.ofMegabytes(1));
+        store.write(List.of(event("process-1", "task-1", "operator", NOW), event("process-1", "task-2", "operator", NOW)));
+        store.close();
+
+        Path log = segmentLogs().get(0);
+        Path index = log.resolveSibling(log.getFileName().toString().replace(".log", ".idx"));
+        List<String> lines = Files.readAllLines(index);
+        Files.write(index, List.of(lines.get(0)));
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 1, 0, '{'}));
+        }
+
+        AuditStore reopened = store(DataSize.ofMegabytes(1));
+        assertThat(reopened.find("process-1", null, null, 100)).extracting(AuditEvent::taskId)
+                .containsExactly("task-1", "task-2");
+        reopened.write(List.of(event("process-1", "task-3", "operator", NOW)));
+        assertThat(store(DataSize.ofMegabytes(1)).find("process-1", null, null, 100)).extracting(AuditEvent::taskId)
+                .containsExactly("task-1", "task-2", "task-3");
+    }
+
+    @Test
+    void indexKeepsFieldsWithTabsAndLineBreaks() throws Exception {
+        String operator = "ops\tteam\nnight\\shift";
+        AuditStore store = store(DataSize.ofMegabytes(1));
+        store.write(List.of(event("process-1", "task-1", operator, NOW), event("process-1", "task-2", "operator", NOW)));
+        store.close();
+
+        AuditStore reopened = store(DataSize.ofMegabytes(1));
+        assertThat(reopened.find(null, null, operator, 100)).extracting(AuditEvent::taskId).containsExactly("task-1");
+        assertThat(reopened.find("process-1", null, null, 100)).extracting(AuditEvent::taskId)
+                .containsExactly("task-1", "task-2");
+        assertThatThrownBy(() -> store(DataSize.ofGigabytes(2))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void maintenanceDropsExpiredEventsAndMergesSmallSegments() throws Exception {
+        AuditStore store = store(DataSize.ofKilobytes(1));
+        store.write(List.of(event("process-1", "task-1", "operator", NOW - 40 * DAY)));
+        store.maintain();
+        store.write(List.of(event("process-1", "task-2", "operator", NOW - 2 * DAY),
+                event("process-2", "task-3", "operator", NOW - 40 * DAY)));
+        store.maintain();
+        store.write(List.of(event("process-1", "task-4", "operator", NOW - 2 * DAY)));
+        store.maintain();
+        store.write(List.of(event("process-1", "task-5", "operator", NOW)));
+
+        store.maintain();
+
+        assertThat(store.find("process-1", null, null, 100)).extracting(AuditEvent::taskId)
+                .containsExactly("task-2", "task-4", "task-5");
+        assertThat(store.find("process-2", null, null, 100)).isEmpty();
+        assertThat(segmentLogs()).extracting(path -> path.getFileName().toString())
+                .containsExactly("audit-000002-000003.log", "audit-000004-000004.log");
+        assertThat(store(DataSize.ofKilobytes(1)).find(null, null, "operator", 100)).extracting(AuditEvent::taskId)
+                .containsExactly("task-2", "task-4", "task-5");
+    }
+
+    private AuditStore store(DataSize segmentMaxSize) {
+        AuditProperties.Store properties = new AuditProperties.Store(true, directory, segmentMaxSize,
+                Duration.ofDays(1), Duration.ofDays(30), Duration.ofMinutes(10), 1000, 16);
+        return new AuditStore(properties, objectMapper, Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC));
+    }
+
+    private List<Path> segmentLogs() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".log")).sorted().toList();
+        }
+    }
+
+    private AuditEvent event(String processInstanceId, String taskId, String operator, long timestamp) {
+        return new AuditEvent(AuditEvent.Category.OPERATION, "TASK_APPROVE", processInstanceId, null, null, null,
+                taskId, null, null, operator, "OK", timestamp);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.workflowdemo.metrics;
+
+import com.example.workflowdemo.WorkflowTestClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "workflow.archive.directory=target/test-archive/${random.uuid}",
+        "workflow.audit.store.directory=target/test-audit/${random.uuid}"
+})
+@AutoConfigureMockMvc
+class WorkflowMetricsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private WorkflowMetrics workflowMetrics;
+
+    private WorkflowTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new WorkflowTestClient(mockMvc, objectMapper);
+    }
+
+    @Test
+    void workflowMetricsAreRecorded() throws Exception {
+        client.startProcess("initiator-6", "approver-6", "executor-6");
+        workflowMetrics.refreshOpenTasks();
+        mockMvc.perform(get("/actuator/metrics/workflow.tasks.open").param("tag", "assignee:approver-6"))
+                .andExpect(status().isOk());
+
+        String approvalTaskId = (String) client.fetchTasks("approver", "approver-6").get(0).get("taskId");
+        client.rejectTask(approvalTaskId, "approver-6");
+
+        mockMvc.perform(get("/actuator/metrics/workflow.process.ended").param("tag", "outcome:REJECTED"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics/workflow.task.duration").param("tag", "taskDefinitionKey:approvalTask"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics/workflow.engine.commands").param("tag", "command:TaskDecisionCmd"))
+                .andExpect(status().isOk());
+    }
+}
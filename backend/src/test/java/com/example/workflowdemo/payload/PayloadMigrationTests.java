@@ -0,0 +1,78 @@
+package com.example.workflowdemo.payload;
+
+import com.example.workflowdemo.WorkflowTestClient;
+import com.example.workflowdemo.dto.StartProcessResponse;
+import com.example.workflowdemo.engine.PayloadValueSerializer;
+import com.example.workflowdemo.process.ProcessState;
+import com.example.workflowdemo.process.ProcessVariables;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.camunda.bpm.engine.RuntimeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "workflow.archive.directory=target/test-archive/${random.uuid}",
+        "workflow.audit.store.directory=target/test-audit/${random.uuid}"
+})
+@AutoConfigureMockMvc
+class PayloadMigrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RuntimeService runtimeService;
+
+    private WorkflowTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new WorkflowTestClient(mockMvc, objectMapper);
+    }
+
+    @Test
+    void payloadIsStoredCompactlyAndLegacyValuesMigrate() throws Exception {
+        StartProcessResponse compact = client.startProcess("initiator-9", "approver-9", "executor-9");
+        assertThat(payloadType(compact.processInstanceId())).isEqualTo(PayloadValueSerializer.NAME);
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put(ProcessVariables.INITIATOR, "initiator-9");
+        variables.put(ProcessVariables.APPROVER_ID, "approver-9");
+        variables.put(ProcessVariables.EXECUTOR_ID, "executor-9");
+        variables.put(ProcessVariables.PROCESS_STATUS, ProcessState.APPROVAL_PENDING.name());
+        variables.put(ProcessVariables.PAYLOAD, new HashMap<>(Map.of("amount", 250)));
+        String legacyId = runtimeService.startProcessInstanceByKey("workflowDemoProcess", variables).getId();
+        assertThat(payloadType(legacyId)).isEqualTo("serializable");
+
+        mockMvc.perform(post("/actuator/payloadmigration"))
+                .andExpect(status().isOk());
+
+        assertThat(payloadType(legacyId)).isEqualTo(PayloadValueSerializer.NAME);
+        assertThat(client.fetchTasks("approver", "approver-9"))
+                .extracting(task -> task.get("payload"))
+                .containsExactlyInAnyOrder(Map.of("amount", 100), Map.of("amount", 250));
+    }
+
+    private String payloadType(String processInstanceId) {
+        return jdbcTemplate.queryForObject("SELECT TYPE_ FROM ACT_RU_VARIABLE WHERE NAME_ = ? AND PROC_INST_ID_ = ?",
+                String.class, ProcessVariables.PAYLOAD, processInstanceId);
+    }
+}
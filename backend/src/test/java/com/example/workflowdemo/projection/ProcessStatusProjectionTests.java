@@ -0,0 +1,88 @@
+package com.example.workflowdemo.projection;
+
+import com.example.workflowdemo.WorkflowTestClient;
+import com.example.workflowdemo.dto.ProcessStatusResponse;
+import com.example.workflowdemo.dto.StartProcessResponse;
+import com.example.workflowdemo.process.ProcessState;
+import com.example.workflowdemo.service.ProcessStatusLoader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "workflow.archive.directory=target/test-archive/${random.uuid}",
+        "workflow.audit.store.directory=target/test-audit/${random.uuid}"
+})
+@AutoConfigureMockMvc
+class ProcessStatusProjectionTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProcessStatusProjectionRepository projectionRepository;
+
+    @Autowired
+    private ProcessStatusLoader statusLoader;
+
+    private WorkflowTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new WorkflowTestClient(mockMvc, objectMapper);
+    }
+
+    @Test
+    void projectionKeepsTheHistoryTimeline() throws Exception {
+        StartProcessResponse startResponse = client.startProcess("initiator-17", "approver-17", "executor-17");
+        String processInstanceId = startResponse.processInstanceId();
+        assertThat(projectionRepository.findById(processInstanceId).orElseThrow().history())
+                .isEqualTo(statusLoader.load(processInstanceId).history());
+
+        String approvalTaskId = (String) client.fetchTasks("approver", "approver-17").get(0).get("taskId");
+        client.approveTask(approvalTaskId, "approver-17");
+
+        ProcessStatusProjection projection = projectionRepository.findById(processInstanceId).orElseThrow();
+        assertThat(projection.history())
+                .isEqualTo(statusLoader.load(processInstanceId).history())
+                .extracting(entry -> entry.activityId())
+                .contains("approvalTask", "manualTask");
+        assertThat(client.fetchStatus(processInstanceId).history()).isEqualTo(projection.history());
+    }
+
+    @Test
+    void statusProjectionRebuildKeepsStatus() throws Exception {
+        StartProcessResponse startResponse = client.startProcess("initiator-4", "approver-4", "executor-4");
+        String approvalTaskId = (String) client.fetchTasks("approver", "approver-4").get(0).get("taskId");
+        client.rejectTask(approvalTaskId, "approver-4");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT state FROM workflow_process_status WHERE process_instance_id = ?",
+                String.class, startResponse.processInstanceId())).isEqualTo("REJECTED");
+
+        mockMvc.perform(post("/actuator/statusprojection"))
+                .andExpect(status().isOk());
+
+        ProcessStatusResponse status = client.fetchStatus(startResponse.processInstanceId());
+        assertThat(status.state()).isEqualTo(ProcessState.REJECTED);
+        assertThat(status.currentTask()).isNull();
+        assertThat(status.history()).isNotEmpty();
+        assertThat(status.variables()).containsEntry("approvalResult", "REJECTED");
+        assertThat(projectionRepository.findById(startResponse.processInstanceId()).orElseThrow().history())
+                .isEqualTo(status.history());
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.workflowdemo.service;
+
+import com.example.workflowdemo.dto.ProcessStatusResponse;
+import com.example.workflowdemo.dto.StartProcessRequest;
+import com.example.workflowdemo.dto.TaskActionRequest;
+import com.example.workflowdemo.dto.TaskDecisionRequest;
+import com.example.workflowdemo.process.ProcessState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ProcessStatusLoaderQueryCountTests {
+
+    private static final ThreadLocal<AtomicInteger> STATEMENTS = new ThreadLocal<>();
+
+    @Autowired
+    private ProcessService processService;
+
+    @Autowired
+    private TaskApplicationService taskApplicationService;
+
+    @Autowired
+    private ProcessStatusLoader statusLoader;
+
+    @AfterEach
+    void stopCounting() {
+        STATEMENTS.remove();
+    }
+
+    @Test
+    void queryCountDoesNotGrowWithHistory() {
+        String processInstanceId = processService.startProcess(new StartProcessRequest(
+                "initiator-q", "approver-q", "executor-q", Map.of("amount", 42))).processInstanceId();
+
+        int runningQueries = countStatements(() -> {
+            ProcessStatusResponse status = statusLoader.load(processInstanceId);
+            assertThat(status.state()).isEqualTo(ProcessState.APPROVAL_PENDING);
+            assertThat(status.history()).hasSize(2);
+        });
+
+        String approvalTaskId = taskApplicationService.findTasks("approver", "approver-q", null, null)
+                .items().get(0).taskId();
+        taskApplicationService.approveTask(approvalTaskId, new TaskDecisionRequest("approver-q", "ok", null));
+        String manualTaskId = taskApplicationService.findTasks("executor", "executor-q", null, null)
+                .items().get(0).taskId();
+        taskApplicationService.completeTask(manualTaskId, new TaskActionRequest("executor-q", "done"));
+
+        int finishedQueries = countStatements(() -> {
+            ProcessStatusResponse status = statusLoader.load(processInstanceId);
+            assertThat(status.state()).isEqualTo(ProcessState.COMPLETED);
+            assertThat(status.history()).hasSize(5);
+            assertThat(status.variables()).containsKey("payload");
+        });
+
+        int stateOnlyQueries = countStatements(() -> {
+            ProcessStatusResponse status = statusLoader.load(processInstanceId,
+                    new StatusView(EnumSet.noneOf(StatusView.Section.class), 0, null));
+            assertThat(status.state()).isEqualTo(ProcessState.COMPLETED);
+            assertThat(status.history()).isNull();
+            assertThat(status.variables()).isNull();
+        });
+
+        // historic variables, payload byte array, active task, historic activities
+        assertThat(runningQueries).isEqualTo(4);
+        assertThat(finishedQueries).isEqualTo(runningQueries);
+        // the status variable only
+        assertThat(stateOnlyQueries).isEqualTo(1);
+    }
+
+    private int countStatements(Runnable action) {
+        AtomicInteger counter = new AtomicInteger();
+        STATEMENTS.set(counter);
+        try {
+            action.run();
+        } finally {
+            STATEMENTS.remove();
+        }
+        return counter.get();
+    }
+
+    @TestConfiguration
+    static class StatementCountingConfiguration {
+
+        @Bean
+        static BeanPostProcessor statementCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) {
+                        return proxy(DataSource.class, dataSource);
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        private static <T> T proxy(Class<T> type, T target) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("prepare") || name.equals("createStatement")) {
+                    AtomicInteger counter = STATEMENTS.get();
+                    if (counter != null) {
+                        counter.incrementAndGet();
+                    }
+                }
+                try {
+                    Object result = method.invoke(target, args);
+                    if (result instanceof Connection connection && name.equals("getConnection")) {
+                        return proxy(Connection.class, connection);
+                    }
+                    return result;
+                } catch (InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+            }));
+        }
+    }
+}
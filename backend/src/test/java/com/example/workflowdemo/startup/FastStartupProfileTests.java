@@ -0,0 +1,161 @@
+package com.example.workflowdemo.startup;
+
+import com.example.workflowdemo.config.StartupProperties;
+import com.example.workflowdemo.engine.DeploymentHashPlugin;
+import com.example.workflowdemo.engine.SchemaChecksumPlugin;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.repository.Deployment;
+import org.camunda.bpm.engine.spring.SpringTransactionsProcessEngineConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:fast-startup;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "workflow.archive.directory=target/test-archive/${random.uuid}",
+        "workflow.audit.store.directory=target/test-audit/${random.uuid}"
+})
+@ActiveProfiles("fast-startup")
+@AutoConfigureMockMvc
+class FastStartupProfileTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationAvailability availability;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ProcessEngine processEngine;
+
+    @Autowired
+    private RepositoryService repositoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StartupProperties properties;
+
+    @Test
+    void warmsUpBeforeReadinessAndSkipsUnchangedSchemaAndDeploymentOnRestart() throws Exception {
+        assertThat(availability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+        assertThat(meterRegistry.find("workflow.startup.time").tag("phase", "runners").timeGauge()).isNotNull();
+
+        List<Deployment> deployments = repositoryService.createDeploymentQuery().list();
+        assertThat(deployments).hasSize(1);
+        Deployment deployment = deployments.get(0);
+
+        // what fresh plugins see when the node restarts against the same database
+        ProcessEngineConfigurationImpl running = (ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration();
+        SpringTransactionsProcessEngineConfiguration restart = new SpringTransactionsProcessEngineConfiguration();
+        restart.setHistory(running.getHistory());
+        restart.setDatabaseTablePrefix(running.getDatabaseTablePrefix());
+        restart.setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_TRUE);
+        restart.setDeploymentName(deployment.getName());
+        restart.setDeploymentResources(deployedResources(deployment.getId()));
+        new SchemaChecksumPlugin(jdbcTemplate, properties).preInit(restart);
+        assertThat(restart.getDatabaseSchemaUpdate()).isEqualTo(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_FALSE);
+        restartDeployment(restart);
+        assertThat(repositoryService.createDeploymentQuery().count()).isEqualTo(1);
+
+        // a changed resource set only deploys what changed
+        Resource[] changed = Arrays.copyOf(restart.getDeploymentResources(), restart.getDeploymentResources().length + 1);
+        changed[changed.length - 1] = namedResource("notes.txt", "changed".getBytes(StandardCharsets.UTF_8));
+        restart.setDeploymentResources(changed);
+        restartDeployment(restart);
+        assertThat(repositoryService.createDeploymentQuery().count()).isEqualTo(2);
+        assertThat(repositoryService.createProcessDefinitionQuery().latestVersion().singleResult().getVersion())
+                .isEqualTo(1);
+
+        String body = mockMvc.perform(post("/api/process/start")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "initiator", "initiator-f", "approverId", "approver-f", "executorId", "executor-f"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String processInstanceId = objectMapper.readTree(body).get("processInstanceId").asText();
+
+        mockMvc.perform(get("/api/process/{id}", processInstanceId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("APPROVAL_PENDING"));
+        mockMvc.perform(get("/api/tasks").param("role", "approver").param("userId", "approver-f"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void fallsBackToSchemaUpdateWhenStampTableIsMissing() {
+        JdbcTemplate withoutStamps = new JdbcTemplate(
+                new DriverManagerDataSource("jdbc:h2:mem:no-stamps;DB_CLOSE_DELAY=-1"));
+        SpringTransactionsProcessEngineConfiguration restart = new SpringTransactionsProcessEngineConfiguration();
+        restart.setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_TRUE);
+        SchemaChecksumPlugin plugin = new SchemaChecksumPlugin(withoutStamps, properties);
+
+        plugin.preInit(restart);
+        plugin.postProcessEngineBuild(processEngine);
+
+        assertThat(restart.getDatabaseSchemaUpdate()).isEqualTo(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_TRUE);
+    }
+
+    private void restartDeployment(SpringTransactionsProcessEngineConfiguration restart) {
+        DeploymentHashPlugin plugin = new DeploymentHashPlugin(jdbcTemplate, properties);
+        Resource[] resources = restart.getDeploymentResources();
+        plugin.preInit(restart);
+        plugin.postProcessEngineBuild(processEngine);
+        restart.setDeploymentResources(resources);
+    }
+
+    private Resource[] deployedResources(String deploymentId) throws Exception {
+        List<Resource> resources = new ArrayList<>();
+        for (String name : repositoryService.getDeploymentResourceNames(deploymentId)) {
+            try (InputStream content = repositoryService.getResourceAsStream(deploymentId, name)) {
+                resources.add(namedResource(name, content.readAllBytes()));
+            }
+        }
+        return resources.toArray(Resource[]::new);
+    }
+
+    private static Resource namedResource(String name, byte[] content) {
+        return new ByteArrayResource(content) {
+            @Override
+            public String getFilename() {
+                return name;
+            }
+        };
+    }
+}
@@ -1,16 +1,32 @@
 import type {
+  BatchResponse,
+  BulkTaskDecisionRequest,
+  ProcessStatusQuery,
   ProcessStatusResponse,
   StartProcessRequest,
   StartProcessResponse,
   TaskActionRequest,
   TaskDecisionRequest,
-  TaskListItem
+  TaskListItem,
+  TaskOperationResponse,
+  TaskPage,
+  TaskQuery,
+  WorkflowPushEvent,
+  WorkflowPushEventType
 } from "./types";
 import { IdentitySession } from "./session";
 
 const baseUrl = import.meta.env.VITE_API_BASE ?? "";
 
+// Last ETag, body and headers per GET url and identity; a 304 answers from here without a response body.
+const validators = new Map<string, { etag: string; data: unknown; headers: Headers }>();
+const MAX_VALIDATORS = 200;
+
 async function request<T>(path: string, init?: RequestInit): Promise<T> {
+  return (await exchange<T>(path, init)).data;
+}
+
+async function exchange<T>(path: string, init?: RequestInit): Promise<{ data: T; headers: Headers }> {
   const headers = new Headers(init?.headers ?? {});
   if (!headers.has("Content-Type")) {
     headers.set("Content-Type", "application/json");
@@ -24,11 +40,22 @@ async function request<T>(path: string, init?: RequestInit): Promise<T> {
     headers.set("X-User-Roles", identity.roles.join(","));
   }
 
+  const conditional = (init?.method ?? "GET").toUpperCase() === "GET";
+  const validatorKey = `${path}|${headers.get("X-User-Id") ?? ""}|${headers.get("X-User-Roles") ?? ""}`;
+  const cached = conditional ? validators.get(validatorKey) : undefined;
+  if (cached) {
+    headers.set("If-None-Match", cached.etag);
+  }
+
   const response = await fetch(`${baseUrl}${path}`, {
     ...init,
     headers
   });
 
+  if (response.status === 304 && cached) {
+    return { data: cached.data as T, headers: cached.headers };
+  }
+
   const text = await response.text();
   const data = text ? JSON.parse(text) : null;
 
@@ -37,7 +64,28 @@ async function request<T>(path: string, init?: RequestInit): Promise<T> {
     throw new Error(message);
   }
 
-  return data as T;
+  const etag = response.headers.get("ETag");
+  if (conditional && etag) {
+    validators.delete(validatorKey);
+    validators.set(validatorKey, { etag, data, headers: response.headers });
+    if (validators.size > MAX_VALIDATORS) {
+      validators.delete(validators.keys().next().value as string);
+    }
+  }
+
+  return { data: data as T, headers: response.headers };
+}
+
+const PUSH_EVENT_TYPES: WorkflowPushEventType[] = ["TASK_CREATED", "TASK_COMPLETED", "PROCESS_ENDED"];
+
+// EventSource reconnects on its own and resends Last-Event-ID; a "resync" event means the
+// server could not replay everything missed, so the listener is called without an event.
+function subscribe(path: string, onChange: (event?: WorkflowPushEvent) => void): () => void {
+  const source = new EventSource(`${baseUrl}${path}`);
+  const handle = (message: MessageEvent) => onChange(JSON.parse(message.data) as WorkflowPushEvent);
+  PUSH_EVENT_TYPES.forEach((type) => source.addEventListener(type, handle));
+  source.addEventListener("resync", () => onChange());
+  return () => source.close();
 }
 
 export const Api = {
@@ -47,11 +95,34 @@ export const Api = {
       body: JSON.stringify(payload)
     }),
 
-  getProcessStatus: (processInstanceId: string) =>
-    request<ProcessStatusResponse>(`/api/process/${processInstanceId}`),
+  getProcessStatus: (processInstanceId: string, query: ProcessStatusQuery = {}) => {
+    const params = new URLSearchParams();
+    if (query.include) {
+      params.set("include", query.include.join(","));
+    }
+    if (query.historyOffset !== undefined) {
+      params.set("historyOffset", String(query.historyOffset));
+    }
+    if (query.historySize !== undefined) {
+      params.set("historySize", String(query.historySize));
+    }
+    const search = params.toString();
+    return request<ProcessStatusResponse>(`/api/process/${processInstanceId}${search ? `?${search}` : ""}`);
+  },
 
-  findTasks: (role: string, userId: string) =>
-    request<TaskListItem[]>(`/api/tasks?role=${encodeURIComponent(role)}&userId=${encodeURIComponent(userId)}`),
+  // One inbox page; pass nextCursor back as query.cursor to load the following one.
+  findTasks: async (role: string, userId: string, query: TaskQuery = {}): Promise<TaskPage> => {
+    const params = new URLSearchParams({ role, userId });
+    query.filters?.forEach((filter) => params.append("filter", filter));
+    if (query.sort) {
+      params.set("sort", query.sort);
+    }
+    if (query.cursor) {
+      params.set("cursor", query.cursor);
+    }
+    const page = await exchange<TaskListItem[]>(`/api/tasks?${params.toString()}`);
+    return { items: page.data, nextCursor: page.headers.get("X-Next-Cursor") };
+  },
 
   approveTask: (taskId: string, payload: TaskDecisionRequest) =>
     request(`/api/tasks/${taskId}/approve`, {
@@ -69,5 +140,17 @@ export const Api = {
     request(`/api/tasks/${taskId}/complete`, {
       method: "POST",
       body: JSON.stringify(payload)
-    })
+    }),
+
+  decideTasks: (payload: BulkTaskDecisionRequest) =>
+    request<BatchResponse<TaskOperationResponse>>("/api/tasks/bulk", {
+      method: "POST",
+      body: JSON.stringify(payload)
+    }),
+
+  subscribeTasks: (role: string, userId: string, onChange: (event?: WorkflowPushEvent) => void) =>
+    subscribe(`/api/events/tasks?role=${encodeURIComponent(role)}&userId=${encodeURIComponent(userId)}`, onChange),
+
+  subscribeProcess: (processInstanceId: string, onChange: (event?: WorkflowPushEvent) => void) =>
+    subscribe(`/api/events/process/${processInstanceId}`, onChange)
 };
@@ -27,6 +27,23 @@ export function ProcessStatusPanel({ initialStatus, onStatusLoaded, pushLog }: P
     }
   }, [initialStatus]);
 
+  const subscribedId = status?.processInstanceId;
+
+  useEffect(() => {
+    if (!subscribedId) {
+      return undefined;
+    }
+    return Api.subscribeProcess(subscribedId, () => {
+      Api.getProcessStatus(subscribedId)
+        .then((result) => {
+          setStatus(result);
+          onStatusLoaded?.(result);
+        })
+        .catch(() => undefined);
+    });
+    // eslint-disable-next-line react-hooks/exhaustive-deps
+  }, [subscribedId]);
+
   const fetchStatus = async (id: string) => {
     const trimmed = id.trim();
     if (!trimmed) {
@@ -115,8 +132,8 @@ export function ProcessStatusPanel({ initialStatus, onStatusLoaded, pushLog }: P
           <div className="summary-block">
             <div className="block-title">{t("status.timeline")}</div>
             <div className="timeline">
-              {status.history.length === 0 && <div className="muted">{t("status.timeline.empty")}</div>}
-              {status.history.map((entry) => (
+              {(status.history ?? []).length === 0 && <div className="muted">{t("status.timeline.empty")}</div>}
+              {(status.history ?? []).map((entry) => (
                 <div className="timeline-item" key={`${entry.activityId}-${entry.startTime ?? ""}`}>
                   <div className="timeline-header">
                     <strong>{entry.activityName || entry.activityId}</strong>
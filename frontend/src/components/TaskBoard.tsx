@@ -18,23 +18,27 @@ export function TaskBoard({ role, title, onStatusRefresh, pushLog }: TaskBoardPr
   const { identity } = useAuth();
   const { t } = useI18n();
   const [tasks, setTasks] = useState<TaskListItem[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
   const [message, setMessage] = useState<string | null>(null);
   const [messageTone, setMessageTone] = useState<"success" | "error" | null>(null);
   const [loading, setLoading] = useState(false);
 
   const hasRole = useMemo(() => identity.roles.some((item) => item.toLowerCase() === role), [identity, role]);
 
-  const loadTasks = async () => {
+  const loadTasks = async (cursor?: string) => {
     if (!hasRole) {
       setTasks([]);
+      setNextCursor(null);
       setMessage(t("tasks.permission.denied"));
       setMessageTone("error");
       return;
     }
     setLoading(true);
     try {
-      const results = await Api.findTasks(role, identity.userId);
+      const page = await Api.findTasks(role, identity.userId, { cursor });
+      const results = cursor ? [...tasks, ...page.items] : page.items;
       setTasks(results);
+      setNextCursor(page.nextCursor);
       if (results.length === 0) {
         setMessage(t("tasks.empty"));
         setMessageTone("success");
@@ -58,6 +62,16 @@ export function TaskBoard({ role, title, onStatusRefresh, pushLog }: TaskBoardPr
 
   useEffect(() => {
     loadTasks();
+    if (!hasRole) {
+      return undefined;
+    }
+    return Api.subscribeTasks(role, identity.userId, (event) => {
+      if (event?.type === "TASK_COMPLETED" && event.taskId) {
+        setTasks((current) => current.filter((task) => task.taskId !== event.taskId));
+        return;
+      }
+      loadTasks();
+    });
     // eslint-disable-next-line react-hooks/exhaustive-deps
   }, [identity, role]);
 
@@ -97,7 +111,6 @@ export function TaskBoard({ role, title, onStatusRefresh, pushLog }: TaskBoardPr
         });
       }
 
-      await loadTasks();
       if (onStatusRefresh) {
         await onStatusRefresh(task.processInstanceId);
       }
@@ -172,6 +185,11 @@ export function TaskBoard({ role, title, onStatusRefresh, pushLog }: TaskBoardPr
           ))}
         </div>
       )}
+      {nextCursor && (
+        <button className="btn secondary" type="button" onClick={() => loadTasks(nextCursor)} disabled={loading}>
+          {loading ? t("tasks.refresh.loading") : t("tasks.loadMore")}
+        </button>
+      )}
     </section>
   );
 }
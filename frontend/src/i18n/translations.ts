@@ -31,6 +31,7 @@ export const translations = {
     "tasks.refresh": "Refresh queue",
     "tasks.refresh.loading": "Loading...",
     "tasks.empty": "No tasks currently assigned",
+    "tasks.loadMore": "Load more",
     "tasks.load.error": "Failed to load tasks: {{message}}",
     "tasks.permission.denied": "The current identity does not have permission for this view. Switch persona to continue.",
     "tasks.operation.success": "Task processed successfully",
@@ -21,6 +21,17 @@ export interface TaskListItem {
   payload?: Record<string, unknown>;
 }
 
+export interface TaskQuery {
+  filters?: string[];
+  sort?: string;
+  cursor?: string;
+}
+
+export interface TaskPage {
+  items: TaskListItem[];
+  nextCursor: string | null;
+}
+
 export interface HistoryEntry {
   activityId: string;
   activityName?: string | null;
@@ -35,8 +46,17 @@ export interface ProcessStatusResponse {
   processInstanceId: string;
   state: ProcessState;
   currentTask?: TaskSummary | null;
-  history: HistoryEntry[];
-  variables: Record<string, unknown>;
+  history?: HistoryEntry[];
+  variables?: Record<string, unknown>;
+  nextHistoryOffset?: number;
+}
+
+export type ProcessStatusSection = "state" | "currentTask" | "history" | "variables";
+
+export interface ProcessStatusQuery {
+  include?: ProcessStatusSection[];
+  historyOffset?: number;
+  historySize?: number;
 }
 
 export interface StartProcessRequest {
@@ -57,8 +77,47 @@ export interface TaskActionRequest {
   comment?: string;
 }
 
+export interface BulkTaskDecisionRequest {
+  action: "approve" | "reject" | "complete";
+  taskIds: string[];
+  userId?: string;
+  comment?: string;
+  reason?: string;
+}
+
+export interface TaskOperationResponse {
+  taskId: string;
+  status: string;
+  nextState: ProcessState;
+  transitionPending: boolean;
+}
+
+export interface BatchItemResult<T> {
+  index: number;
+  result?: T | null;
+  error?: string | null;
+}
+
+export interface BatchResponse<T> {
+  succeeded: number;
+  failed: number;
+  items: BatchItemResult<T>[];
+}
+
 export interface ActivityLogItem {
   id: string;
   timestamp: string;
   message: string;
 }
+
+export type WorkflowPushEventType = "TASK_CREATED" | "TASK_COMPLETED" | "PROCESS_ENDED";
+
+export interface WorkflowPushEvent {
+  id: number;
+  type: WorkflowPushEventType;
+  processInstanceId: string;
+  taskId?: string | null;
+  taskDefinitionKey?: string | null;
+  assignee?: string | null;
+  timestamp: number;
+}